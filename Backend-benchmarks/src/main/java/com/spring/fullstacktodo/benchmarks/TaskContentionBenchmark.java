@@ -0,0 +1,116 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.spring.fullstacktodo.FullStackToDoApplication;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.exception.TaskConflictException;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// N writers (JMH threads, 8 unless -t says otherwise) hammering the same task, the kanban-drag worst case.
+// Next to throughput every benchmark reports how its calls ended:
+//   succeeded  the write went through (for replace possibly after retries)
+//   conflicts  409: a stale version (conditionalReplace) or retries used up (replace)
+// e.g. -Djmh.args="TaskContention -t 1", then -t 4, -t 16 for the scaling curve
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class TaskContentionBenchmark {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long taskId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long succeeded;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(FullStackToDoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(TaskServiceBenchmark.EMBEDDED_DATABASE);
+        taskService = context.getBean(TaskService.class);
+        taskService.deleteAllTasks();
+        taskId = taskService.createTask(request("Contended task", Task.TaskStatus.TODO, null)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // PUT without a version: read-modify-write, retried when another writer commits in between
+    @Benchmark
+    public void replace(Outcomes outcomes) {
+        try {
+            taskService.updateTask(taskId, request("Replaced", nextStatus(), null));
+            outcomes.succeeded++;
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+
+    // PUT with the version just read, as the edit dialog sends it; losers get 409 and are not retried
+    @Benchmark
+    public void conditionalReplace(Outcomes outcomes) {
+        Long version = taskService.getTaskById(taskId).orElseThrow().getVersion();
+        try {
+            taskService.updateTask(taskId, request("Replaced", nextStatus(), version));
+            outcomes.succeeded++;
+        } catch (TaskConflictException | OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+
+    // Drag to another column: one UPDATE with no read or lock before it (it returns the values it replaced),
+    // so it cannot conflict; the task is then read back for the response
+    @Benchmark
+    public void transition(Outcomes outcomes) {
+        taskService.markTaskAsInProgress(taskId);
+        outcomes.succeeded++;
+    }
+
+    // Random per call, so concurrent writers really change the row instead of rewriting the same values
+    private static Task.TaskStatus nextStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    private static TaskRequestDTO request(String title, Task.TaskStatus status, Long version) {
+        return new TaskRequestDTO(title, "Benchmark description", status, Task.TaskPriority.MEDIUM, version);
+    }
+}
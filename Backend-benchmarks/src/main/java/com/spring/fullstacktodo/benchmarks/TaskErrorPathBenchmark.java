@@ -0,0 +1,64 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.fullstacktodo.exception.TaskProblems;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 404 for a deleted task id, from the throw in the service to the response bytes. "exceptionAndMap" is the
+// previous path (exception with a stack trace, HashMap body with a timestamp, Jackson); "problemTemplate" the
+// direct return of TaskProblems. The stack is a few frames deep here, in the app it is ~100. Run with -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskErrorPathBenchmark {
+    private ObjectMapper objectMapper;
+    private TaskProblems problems;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        problems = new TaskProblems();
+    }
+
+    @Benchmark
+    public byte[] exceptionAndMap() throws JsonProcessingException {
+        try {
+            throw new RuntimeException("Task not found with id: " + ++id);
+        } catch (RuntimeException ex) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("timestamp", LocalDateTime.now());
+            errorResponse.put("status", 404);
+            errorResponse.put("error", "Task Not Found");
+            errorResponse.put("message", ex.getMessage());
+            return objectMapper.writeValueAsBytes(errorResponse);
+        }
+    }
+
+    @Benchmark
+    public byte[] problemTemplate() {
+        return problems.taskNotFound(++id).getBody();
+    }
+}
@@ -0,0 +1,42 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deterministic task data shared by the benchmarks
+final class TaskFixtures {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_456_000);
+
+    private TaskFixtures() {
+    }
+
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task.TaskPriority priority = PRIORITIES[i % PRIORITIES.length];
+            LocalDateTime createdAt = START.plusSeconds(i);
+            tasks.add(new Task((long) i + 1, BoardContext.DEFAULT_BOARD, "Task " + i, "Description of task " + i,
+                    STATUSES[i % STATUSES.length], priority, priority.rank(), createdAt, createdAt.plusMinutes(5), (long) i % 3));
+        }
+        return tasks;
+    }
+
+    static List<TaskResponseDTO> responses(int count, boolean withTimestamps) {
+        List<TaskResponseDTO> responses = new ArrayList<>(count);
+        for (Task task : tasks(count)) {
+            responses.add(new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(),
+                    task.getStatus(), task.getPriority(),
+                    withTimestamps ? task.getCreatedAt() : null,
+                    withTimestamps ? task.getUpdatedAt() : null,
+                    task.getVersion()));
+        }
+        return responses;
+    }
+}
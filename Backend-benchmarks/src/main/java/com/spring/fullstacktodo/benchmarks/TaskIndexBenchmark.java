@@ -0,0 +1,90 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.index.TaskColumnIndex;
+import com.spring.fullstacktodo.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One kanban column (GET /api/tasks/status/IN_PROGRESS) served from cached entities, as an object cache
+// would, against the column index. Run with -prof gc to compare allocation per read; setup prints what
+// each representation keeps on the heap (and off it, for the index)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskIndexBenchmark {
+    private static final Sort BY_PRIORITY_DESC_ID = Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.desc("id"));
+    private static final Comparator<Task> ENTITY_ORDER = Comparator.comparing(Task::getPriorityRank)
+            .thenComparing(Task::getId).reversed();
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> entities;
+    private TaskColumnIndex index;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        long before = usedHeap();
+        entities = TaskFixtures.tasks(size);
+        long entityHeap = usedHeap() - before;
+
+        // No repository: the index is filled through its change callbacks, as TaskService does
+        index = new TaskColumnIndex(null, new SimpleMeterRegistry(), true);
+        index.tasksSaved(entities);
+        TaskColumnIndex.Footprint footprint = index.footprint();
+        System.out.printf("%n%d tasks: entities %,d heap bytes; index %,d heap + %,d off-heap bytes%n",
+                size, entityHeap, footprint.heapBytes(), footprint.offHeapBytes());
+    }
+
+    @Benchmark
+    public byte[] entityColumn() throws JsonProcessingException {
+        List<TaskResponseDTO> column = entities.stream()
+                .filter(task -> task.getStatus() == Task.TaskStatus.IN_PROGRESS)
+                .sorted(ENTITY_ORDER)
+                .map(task -> new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                        task.getPriority(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion()))
+                .toList();
+        return objectMapper.writeValueAsBytes(column);
+    }
+
+    @Benchmark
+    public byte[] indexColumn() throws JsonProcessingException {
+        List<TaskResponseDTO> column = index.query(Task.TaskStatus.IN_PROGRESS, null, BY_PRIORITY_DESC_ID, false);
+        return objectMapper.writeValueAsBytes(column);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
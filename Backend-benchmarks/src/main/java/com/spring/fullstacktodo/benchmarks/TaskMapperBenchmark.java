@@ -0,0 +1,46 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.mapper.TaskMapper;
+import com.spring.fullstacktodo.mapper.TaskMapperImpl;
+import com.spring.fullstacktodo.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO mapping of a whole result list, as done by every list endpoint
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = TaskFixtures.tasks(size);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> toResponseDtoList() {
+        return taskMapper.toResponseDtoList(tasks);
+    }
+}
@@ -0,0 +1,62 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON encoding of task lists. The withoutTimestamps variant writes the same DTOs with null
+// dates, so the difference between the two is the LocalDateTime formatting cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<TaskResponseDTO> tasks;
+    private List<TaskResponseDTO> tasksWithoutTimestamps;
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot's JacksonAutoConfiguration applies to the application's ObjectMapper
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<TaskResponseDTO>>() {
+                });
+        tasks = TaskFixtures.responses(size, true);
+        tasksWithoutTimestamps = TaskFixtures.responses(size, false);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serializeWithoutTimestamps() throws JsonProcessingException {
+        return writer.writeValueAsBytes(tasksWithoutTimestamps);
+    }
+}
@@ -0,0 +1,96 @@
+package com.spring.fullstacktodo.benchmarks;
+
+import com.spring.fullstacktodo.FullStackToDoApplication;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// TaskService write paths through the full Spring context (JPA, caches, listeners) on an
+// in-memory H2 database, so the numbers track the service and ORM cost rather than the network
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class TaskServiceBenchmark {
+    // Command-line arguments take precedence over the application.properties packaged with the backend
+    static final String[] EMBEDDED_DATABASE = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.flyway.enabled=false",
+            "--tasks.search.engine=memory",
+            "--logging.level.root=WARN"
+    };
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long taskId;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(FullStackToDoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(EMBEDDED_DATABASE);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    // Start every iteration from a one-row table so created rows do not pile up across iterations
+    @Setup(Level.Iteration)
+    public void resetTasks() {
+        taskService.deleteAllTasks();
+        taskId = taskService.createTask(request("Benchmark task", Task.TaskStatus.TODO)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDTO createTask() {
+        return taskService.createTask(request("Created task", Task.TaskStatus.TODO));
+    }
+
+    // Alternates the status so every call really changes the row
+    @Benchmark
+    public TaskResponseDTO updateTask() {
+        Task.TaskStatus status = (invocations++ & 1) == 0 ? Task.TaskStatus.IN_PROGRESS : Task.TaskStatus.TODO;
+        return taskService.updateTask(taskId, request("Updated task", status));
+    }
+
+    @Benchmark
+    public TaskResponseDTO markTaskAs() {
+        return (invocations++ & 1) == 0
+                ? taskService.markTaskAsCompleted(taskId)
+                : taskService.markTaskAsInProgress(taskId);
+    }
+
+    private static TaskRequestDTO request(String title, Task.TaskStatus status) {
+        return new TaskRequestDTO(title, "Benchmark description", status, Task.TaskPriority.MEDIUM);
+    }
+}
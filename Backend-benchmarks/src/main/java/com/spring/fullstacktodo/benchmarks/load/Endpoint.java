@@ -0,0 +1,33 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+// Calls in the load mix and their share of requests; weights add up to 100
+enum Endpoint {
+    LIST("GET /api/tasks?limit=50", 20),
+    LIST_BY_STATUS("GET /api/tasks/status/{status}?limit=50", 10),
+    SEARCH("GET /api/tasks/search?q={term}", 15),
+    DRAG("PATCH /api/tasks/{id}/complete|in-progress|todo", 35),
+    CREATE("POST /api/tasks", 10),
+    DELETE("DELETE /api/tasks/{id}", 10);
+
+    private static final Endpoint[] VALUES = values();
+
+    final String label;
+    final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    // Pick an endpoint for a roll in [0, 100)
+    static Endpoint forRoll(int roll) {
+        int upTo = 0;
+        for (Endpoint endpoint : VALUES) {
+            upTo += endpoint.weight;
+            if (roll < upTo) {
+                return endpoint;
+            }
+        }
+        return VALUES[VALUES.length - 1];
+    }
+}
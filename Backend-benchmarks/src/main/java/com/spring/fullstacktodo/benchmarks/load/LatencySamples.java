@@ -0,0 +1,44 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import java.util.Arrays;
+
+// Growable array of latencies in nanoseconds; one per worker and endpoint, so recording never contends
+final class LatencySamples {
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // Sorted copy, for percentiles
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(values, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,122 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load: every worker sends its next request as soon as the previous one answered.
+// Only requests that start and finish inside the measured window are recorded
+final class LoadGenerator {
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final String[] DRAGS = {"complete", "in-progress", "todo"};
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String baseUrl;
+    private final long[] seededIds;
+    private final HttpClient client;
+
+    LoadGenerator(String baseUrl, long[] seededIds) {
+        this.baseUrl = baseUrl;
+        this.seededIds = seededIds;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Map<Endpoint, LatencySamples> run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        List<Future<Map<Endpoint, LatencySamples>>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> work(measureFrom, measureUntil)));
+            }
+        }
+        Map<Endpoint, LatencySamples> merged = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            merged.put(endpoint, new LatencySamples());
+        }
+        for (Future<Map<Endpoint, LatencySamples>> worker : workers) {
+            worker.get().forEach((endpoint, samples) -> merged.get(endpoint).addAll(samples));
+        }
+        return merged;
+    }
+
+    private Map<Endpoint, LatencySamples> work(long measureFrom, long measureUntil) {
+        Map<Endpoint, LatencySamples> samples = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new LatencySamples());
+        }
+        // Deletes only remove tasks this worker created, so the seeded board keeps its size
+        ArrayDeque<Long> created = new ArrayDeque<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < measureUntil) {
+            Endpoint endpoint = Endpoint.forRoll(random.nextInt(100));
+            if (endpoint == Endpoint.DELETE && created.isEmpty()) {
+                endpoint = Endpoint.CREATE;
+            }
+            HttpRequest request = request(endpoint, created, random);
+            long start = System.nanoTime();
+            boolean error;
+            String body = null;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                error = response.statusCode() >= 400;
+                body = response.body();
+            } catch (Exception e) {
+                error = true;
+            }
+            long end = System.nanoTime();
+            if (endpoint == Endpoint.CREATE && !error) {
+                Matcher id = ID.matcher(body);
+                if (id.find()) {
+                    created.add(Long.parseLong(id.group(1)));
+                }
+            }
+            if (start >= measureFrom && end <= measureUntil) {
+                samples.get(endpoint).record(end - start, error);
+            }
+        }
+        return samples;
+    }
+
+    private HttpRequest request(Endpoint endpoint, ArrayDeque<Long> created, ThreadLocalRandom random) {
+        return switch (endpoint) {
+            case LIST -> get("/api/tasks?limit=50");
+            case LIST_BY_STATUS -> get("/api/tasks/status/" + STATUSES[random.nextInt(STATUSES.length)] + "?limit=50");
+            case SEARCH -> get("/api/tasks/search?q=" + TaskTitles.searchTerm(random));
+            case DRAG -> HttpRequest.newBuilder(uri("/api/tasks/" + seededIds[random.nextInt(seededIds.length)]
+                            + "/" + DRAGS[random.nextInt(DRAGS.length)]))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case CREATE -> HttpRequest.newBuilder(uri("/api/tasks"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + TaskTitles.title(random)
+                            + "\",\"description\":\"Created by the load test\",\"status\":\"TODO\",\"priority\":\"MEDIUM\"}"))
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(uri("/api/tasks/" + created.poll())).DELETE().build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -0,0 +1,85 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-endpoint throughput and latency percentiles, checked against the p99 / error-rate SLO
+final class LoadReport {
+
+    record Row(String endpoint, long requests, long errors, double throughput,
+               double p50Millis, double p95Millis, double p99Millis, double maxMillis, boolean withinSlo) {
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+    private final LoadTestOptions options;
+
+    LoadReport(Map<Endpoint, LatencySamples> samples, LoadTestOptions options) {
+        this.options = options;
+        LatencySamples all = new LatencySamples();
+        samples.forEach((endpoint, endpointSamples) -> {
+            rows.add(row(endpoint.label, endpointSamples, options.duration()));
+            all.addAll(endpointSamples);
+        });
+        rows.add(row("ALL", all, options.duration()));
+    }
+
+    boolean withinSlo() {
+        return rows.stream().allMatch(Row::withinSlo);
+    }
+
+    void print() {
+        System.out.printf("%n%-50s %9s %7s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "SLO");
+        for (Row row : rows) {
+            System.out.printf("%-50s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50Millis(), row.p95Millis(), row.p99Millis(), row.maxMillis(), row.withinSlo() ? "ok" : "FAIL");
+        }
+        System.out.printf("SLO: p99 <= %.0f ms and error rate <= %.2f%% per endpoint%n",
+                options.sloP99Millis(), options.maxErrorRate() * 100);
+    }
+
+    void write(Path path) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tasks", options.tasks());
+        report.put("concurrency", options.concurrency());
+        report.put("durationSeconds", options.duration().toSeconds());
+        report.put("database", options.db());
+        report.put("sloP99Millis", options.sloP99Millis());
+        report.put("maxErrorRate", options.maxErrorRate());
+        report.put("withinSlo", withinSlo());
+        report.put("endpoints", rows);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private Row row(String endpoint, LatencySamples samples, Duration duration) {
+        long[] sorted = samples.sorted();
+        double p99 = percentile(sorted, 0.99);
+        boolean withinSlo = sorted.length == 0
+                || (p99 <= options.sloP99Millis() && (double) samples.errors() / sorted.length <= options.maxErrorRate());
+        return new Row(endpoint, sorted.length, samples.errors(), sorted.length / (duration.toMillis() / 1000.0),
+                percentile(sorted, 0.50), percentile(sorted, 0.95), p99,
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, withinSlo);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, rank)] / 1e6;
+    }
+}
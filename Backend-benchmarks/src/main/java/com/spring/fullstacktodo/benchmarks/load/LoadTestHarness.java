@@ -0,0 +1,95 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import com.spring.fullstacktodo.FullStackToDoApplication;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// End-to-end load test: boots the backend on a random port against an embedded H2 database in
+// PostgreSQL mode (or a scratch local Postgres with --db=postgres --db-url=...), seeds tasks, drives a mix of
+// TaskController calls over HTTP and reports throughput and p50/p95/p99 latency per endpoint.
+// Runs offline on one machine:
+//   mvn -pl Backend-benchmarks -am verify -Ploadtest -DskipTests -Dloadtest.args="--tasks=20000 --duration=60s"
+// Exits with status 1 when an endpoint misses the SLO, so it can gate a build.
+public final class LoadTestHarness {
+    private static final int SEED_CHUNK = 1000;
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        boolean withinSlo;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FullStackToDoApplication.class)
+                .run(applicationArgs(options))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            long[] ids = seed(context.getBean(TaskService.class), options.tasks());
+            System.out.printf("Seeded %d tasks; %d workers, %ds warm-up, %ds measured%n", ids.length,
+                    options.concurrency(), options.warmup().toSeconds(), options.duration().toSeconds());
+
+            Map<Endpoint, LatencySamples> samples = new LoadGenerator("http://localhost:" + port, ids)
+                    .run(options.concurrency(), options.warmup(), options.duration());
+            LoadReport report = new LoadReport(samples, options);
+            report.print();
+            report.write(Path.of(options.report()));
+            System.out.println("Report written to " + options.report());
+            withinSlo = report.withinSlo();
+        }
+        System.exit(withinSlo ? 0 : 1);
+    }
+
+    // Command-line arguments override the application.properties packaged with the backend
+    private static String[] applicationArgs(LoadTestOptions options) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=0");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level.root=WARN");
+        if (options.db().equals("h2")) {
+            args.add("--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+            args.add("--spring.datasource.username=sa");
+            args.add("--spring.datasource.password=");
+            args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+            args.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+            args.add("--spring.flyway.enabled=false");
+            // H2 has no tsvector
+            args.add("--tasks.search.engine=memory");
+        } else {
+            args.add("--spring.datasource.url=" + options.dbUrl());
+            args.add("--spring.datasource.username=" + options.dbUser());
+            args.add("--spring.datasource.password=" + options.dbPassword());
+        }
+        args.addAll(options.applicationArgs());
+        return args.toArray(String[]::new);
+    }
+
+    // Seed through the batch path, spread over every status and priority
+    private static long[] seed(TaskService taskService, int count) {
+        Random random = new Random(42);
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        Task.TaskPriority[] priorities = Task.TaskPriority.values();
+        long[] ids = new long[count];
+        int seeded = 0;
+        while (seeded < count) {
+            List<TaskRequestDTO> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = 0; i < SEED_CHUNK && seeded + i < count; i++) {
+                chunk.add(new TaskRequestDTO(TaskTitles.title(random), "Seeded by the load test",
+                        statuses[random.nextInt(statuses.length)], priorities[random.nextInt(priorities.length)]));
+            }
+            for (TaskResponseDTO task : taskService.createTasks(chunk)) {
+                ids[seeded++] = task.getId();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,74 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Command-line options of the load test; anything not recognised is passed on to the application
+record LoadTestOptions(
+        int tasks,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        String db,
+        String dbUrl,
+        String dbUser,
+        String dbPassword,
+        String report,
+        double sloP99Millis,
+        double maxErrorRate,
+        List<String> applicationArgs) {
+
+    static LoadTestOptions parse(String[] args) {
+        int tasks = 10_000;
+        int concurrency = 64;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        String db = "h2";
+        String dbUrl = "jdbc:postgresql://localhost:5432/todo_db";
+        String dbUser = "postgres";
+        String dbPassword = "";
+        String report = "target/load-report.json";
+        double sloP99Millis = 250;
+        double maxErrorRate = 0.01;
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg : arg.substring(0, separator);
+            String value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (key) {
+                case "--tasks" -> tasks = Integer.parseInt(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--db" -> db = value;
+                case "--db-url" -> dbUrl = value;
+                case "--db-user" -> dbUser = value;
+                case "--db-password" -> dbPassword = value;
+                case "--report" -> report = value;
+                case "--slo-p99-ms" -> sloP99Millis = Double.parseDouble(value);
+                case "--max-error-rate" -> maxErrorRate = Double.parseDouble(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (!db.equals("h2") && !db.equals("postgres")) {
+            throw new IllegalArgumentException("--db must be h2 or postgres, was " + db);
+        }
+        return new LoadTestOptions(tasks, concurrency, warmup, duration, db, dbUrl, dbUser, dbPassword,
+                report, sloP99Millis, maxErrorRate, List.copyOf(applicationArgs));
+    }
+
+    // "90s", "2m" or plain seconds
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
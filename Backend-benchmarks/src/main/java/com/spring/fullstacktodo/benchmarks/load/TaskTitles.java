@@ -0,0 +1,25 @@
+package com.spring.fullstacktodo.benchmarks.load;
+
+import java.util.Random;
+
+// Titles built from a small vocabulary, so search terms hit a realistic share of the board
+final class TaskTitles {
+    private static final String[] VERBS = {"Prepare", "Review", "Update", "Fix", "Write", "Plan", "Test", "Deploy"};
+    private static final String[] SUBJECTS = {"quarterly report", "release notes", "login page", "invoice export",
+            "onboarding guide", "database backup", "sprint board", "customer survey", "pricing page", "api docs"};
+
+    private TaskTitles() {
+    }
+
+    static String title(Random random) {
+        return VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)]
+                + " #" + random.nextInt(1000);
+    }
+
+    // A word (or word prefix) from the vocabulary, URL-safe as is
+    static String searchTerm(Random random) {
+        String[] words = SUBJECTS[random.nextInt(SUBJECTS.length)].split(" ");
+        String word = words[random.nextInt(words.length)];
+        return random.nextBoolean() ? word : word.substring(0, Math.min(4, word.length()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring.fullstacktodo.reactive;
+
+import com.spring.fullstacktodo.exception.GlobalExceptionHandler;
+import com.spring.fullstacktodo.exception.TaskProblems;
+import com.spring.fullstacktodo.mapper.TaskMapperImpl;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// Non-blocking variant of the task API (WebFlux + R2DBC) over the same tasks table.
+// Shares the model, DTOs, mapper and error responses with the MVC backend; runs on its own port.
+@SpringBootApplication
+@Import({TaskMapperImpl.class, GlobalExceptionHandler.class, TaskProblems.class})
+public class ReactiveTaskApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTaskApplication.class, args);
+    }
+
+}
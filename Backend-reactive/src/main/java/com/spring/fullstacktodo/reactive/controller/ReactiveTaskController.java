@@ -0,0 +1,96 @@
+package com.spring.fullstacktodo.reactive.controller;
+
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.reactive.service.ReactiveTaskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same paths and payloads as the MVC TaskController. Lists are written as they stream from the
+// database: a JSON array by default, or one task per line with Accept: application/x-ndjson
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*") // Allow requests from React frontend
+public class ReactiveTaskController {
+    private final ReactiveTaskService taskService;
+
+    // Create a new task
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TaskResponseDTO> createTask(@RequestBody TaskRequestDTO taskRequestDTO) {
+        return taskService.createTask(taskRequestDTO);
+    }
+
+    // Get all tasks
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskResponseDTO> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+
+    // Get task counts by status and priority
+    @GetMapping("/stats")
+    public Mono<TaskStatsDTO> getTaskStats() {
+        return taskService.getTaskStats();
+    }
+
+    // Get task by ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponseDTO>> getTaskById(@PathVariable Long id) {
+        return taskService.getTaskById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Update a task
+    @PutMapping("/{id}")
+    public Mono<TaskResponseDTO> updateTask(@PathVariable Long id, @RequestBody TaskRequestDTO taskRequestDTO) {
+        return taskService.updateTask(id, taskRequestDTO);
+    }
+
+    // Change status and/or priority with a single UPDATE
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> patchTask(@PathVariable Long id, @RequestBody TaskPatchDTO taskPatchDTO) {
+        return taskService.patchTask(id, taskPatchDTO);
+    }
+
+    // Delete a task
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteTask(@PathVariable Long id) {
+        return taskService.deleteTask(id);
+    }
+
+    // Get tasks by status
+    @GetMapping(value = "/status/{status}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskResponseDTO> getTasksByStatus(@PathVariable Task.TaskStatus status) {
+        return taskService.getTasksByStatus(status);
+    }
+
+    // Get tasks by priority
+    @GetMapping(value = "/priority/{priority}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskResponseDTO> getTasksByPriority(@PathVariable Task.TaskPriority priority) {
+        return taskService.getTasksByPriority(priority);
+    }
+
+    // Get all tasks ordered by priority
+    @GetMapping(value = "/order/priority", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskResponseDTO> getTasksOrderedByPriority() {
+        return taskService.getAllTasksOrderedByPriority();
+    }
+
+    // Get all tasks ordered by date
+    @GetMapping(value = "/order/date", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskResponseDTO> getTasksOrderedByDate() {
+        return taskService.getAllTasksOrderedByDate();
+    }
+}
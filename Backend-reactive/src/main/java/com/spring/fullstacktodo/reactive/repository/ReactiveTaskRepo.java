@@ -0,0 +1,157 @@
+package com.spring.fullstacktodo.reactive.repository;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.model.Task;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// R2DBC counterpart of TaskRepo. The JPA annotations on Task do not apply here, so rows are
+// mapped by hand and priority_rank / timestamps / version are written explicitly (no entity callbacks).
+// Like /api/tasks on the MVC backend, the reactive API serves the default board
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTaskRepo {
+    private static final String ON_BOARD = " WHERE board_id = " + BoardContext.DEFAULT_BOARD;
+    private static final String SELECT = "SELECT id, board_id, title, description, status, priority, priority_rank, created_at, updated_at, version FROM tasks"
+            + ON_BOARD;
+    // Rows fetched per round trip; the driver only fetches the next batch once the subscriber asks for it
+    private static final int FETCH_SIZE = 256;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Task> findAll() {
+        return stream(SELECT).map(ReactiveTaskRepo::toTask).all();
+    }
+
+    public Mono<Task> findById(Long id) {
+        return databaseClient.sql(SELECT + " AND id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepo::toTask)
+                .one();
+    }
+
+    public Flux<Task> findByStatus(Task.TaskStatus status) {
+        return stream(SELECT + " AND status = :status")
+                .bind("status", status.name())
+                .map(ReactiveTaskRepo::toTask)
+                .all();
+    }
+
+    public Flux<Task> findByPriorityRank(short priorityRank) {
+        return stream(SELECT + " AND priority_rank = :priorityRank")
+                .bind("priorityRank", priorityRank)
+                .map(ReactiveTaskRepo::toTask)
+                .all();
+    }
+
+    public Flux<Task> findAllOrderByPriorityRankDescCreatedAtDesc() {
+        return stream(SELECT + " ORDER BY priority_rank DESC, created_at DESC").map(ReactiveTaskRepo::toTask).all();
+    }
+
+    public Flux<Task> findAllOrderByCreatedAtDesc() {
+        return stream(SELECT + " ORDER BY created_at DESC").map(ReactiveTaskRepo::toTask).all();
+    }
+
+    public Flux<TaskCountDTO> countByStatusAndPriority() {
+        return databaseClient.sql("SELECT status, priority, COUNT(*) AS total FROM tasks" + ON_BOARD + " GROUP BY status, priority")
+                .map(row -> new TaskCountDTO(
+                        Task.TaskStatus.valueOf(row.get("status", String.class)),
+                        Task.TaskPriority.valueOf(row.get("priority", String.class)),
+                        row.get("total", Long.class)))
+                .all();
+    }
+
+    // Ids come from the same pooled tasks_seq as the MVC backend. Hibernate hands out the block
+    // ending at each value it fetches, so a value taken here is never inside one of its blocks
+    public Mono<Long> insert(Task task) {
+        return databaseClient.sql("""
+                        INSERT INTO tasks (id, board_id, title, description, status, priority, priority_rank, created_at, updated_at, version)
+                        VALUES (nextval('tasks_seq'), :boardId, :title, :description, :status, :priority, :priorityRank, :createdAt, :updatedAt, 0)""")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("boardId", BoardContext.DEFAULT_BOARD)
+                .bind("title", task.getTitle())
+                .bind("description", nullable(task.getDescription(), String.class))
+                .bind("status", task.getStatus().name())
+                .bind("priority", task.getPriority().name())
+                .bind("priorityRank", task.getPriority().rank())
+                .bind("createdAt", task.getCreatedAt())
+                .bind("updatedAt", task.getUpdatedAt())
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    // Replace the fields; with an expected version (not null) only while the row still has it, like the
+    // @Version check of the JPA entity. 0 rows: no such task, or a newer version
+    public Mono<Long> update(Long id, Task task, Long expectedVersion) {
+        return databaseClient.sql("""
+                        UPDATE tasks SET title = :title, description = :description, status = :status,
+                            priority = :priority, priority_rank = :priorityRank, updated_at = :updatedAt, version = version + 1
+                        WHERE id = :id AND board_id = :boardId AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)""")
+                .bind("boardId", BoardContext.DEFAULT_BOARD)
+                .bind("id", id)
+                .bind("expectedVersion", nullable(expectedVersion, Long.class))
+                .bind("title", task.getTitle())
+                .bind("description", nullable(task.getDescription(), String.class))
+                .bind("status", task.getStatus().name())
+                .bind("priority", task.getPriority().name())
+                .bind("priorityRank", task.getPriority().rank())
+                .bind("updatedAt", task.getUpdatedAt())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // Same single-statement transition as TaskRepo.transitionReturningPrevious; a null value keeps the column
+    public Mono<Long> updateStatusAndPriority(Long id, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        return databaseClient.sql("""
+                        UPDATE tasks SET status = COALESCE(:status, status), priority = COALESCE(:priority, priority),
+                            priority_rank = COALESCE(:priorityRank, priority_rank), updated_at = :updatedAt, version = version + 1
+                        WHERE id = :id AND board_id = :boardId""")
+                .bind("boardId", BoardContext.DEFAULT_BOARD)
+                .bind("id", id)
+                .bind("status", nullable(status != null ? status.name() : null, String.class))
+                .bind("priority", nullable(priority != null ? priority.name() : null, String.class))
+                .bind("priorityRank", nullable(priority != null ? priority.rank() : null, Short.class))
+                .bind("updatedAt", updatedAt)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id AND board_id = :boardId")
+                .bind("id", id)
+                .bind("boardId", BoardContext.DEFAULT_BOARD)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // bind() takes no null; a null is bound as a typed R2DBC parameter
+    private static Object nullable(Object value, Class<?> type) {
+        return value != null ? value : Parameters.in(type);
+    }
+
+    private DatabaseClient.GenericExecuteSpec stream(String sql) {
+        return databaseClient.sql(sql).filter(statement -> statement.fetchSize(FETCH_SIZE));
+    }
+
+    private static Task toTask(Readable row) {
+        return new Task(
+                row.get("id", Long.class),
+                row.get("board_id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Task.TaskStatus.valueOf(row.get("status", String.class)),
+                Task.TaskPriority.valueOf(row.get("priority", String.class)),
+                row.get("priority_rank", Short.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
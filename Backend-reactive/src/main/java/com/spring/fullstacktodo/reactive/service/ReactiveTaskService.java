@@ -0,0 +1,119 @@
+package com.spring.fullstacktodo.reactive.service;
+
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.exception.TaskConflictException;
+import com.spring.fullstacktodo.exception.TaskNotFoundException;
+import com.spring.fullstacktodo.mapper.TaskMapper;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.reactive.repository.ReactiveTaskRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Reactive counterpart of TaskService: list endpoints map rows one at a time as they are
+// requested, so no result list is ever held in memory
+@Service
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+    private final ReactiveTaskRepo taskRepo;
+    private final TaskMapper taskMapper;
+
+    public Mono<TaskResponseDTO> createTask(TaskRequestDTO taskRequestDTO) {
+        Task task = taskMapper.toEntity(taskRequestDTO);
+        task.setCreatedAt(Task.currentTimestamp());
+        task.setUpdatedAt(task.getCreatedAt());
+        task.setPriorityRank(task.getPriority().rank());
+        task.setVersion(0L);
+        return taskRepo.insert(task)
+                .map(id -> {
+                    task.setId(id);
+                    return taskMapper.toResponseDto(task);
+                });
+    }
+
+    public Flux<TaskResponseDTO> getAllTasks() {
+        return taskRepo.findAll().map(taskMapper::toResponseDto);
+    }
+
+    public Mono<TaskResponseDTO> getTaskById(Long id) {
+        return taskRepo.findById(id).map(taskMapper::toResponseDto);
+    }
+
+    // With a version in the body the update only applies to that version (409 otherwise), as on the MVC backend
+    public Mono<TaskResponseDTO> updateTask(Long id, TaskRequestDTO taskRequestDTO) {
+        Task task = taskMapper.toEntity(taskRequestDTO);
+        task.setUpdatedAt(Task.currentTimestamp());
+        Long expectedVersion = taskRequestDTO.getVersion();
+        return taskRepo.update(id, task, expectedVersion)
+                .flatMap(rows -> rows == 0 ? notUpdated(id, expectedVersion) : taskRepo.findById(id))
+                .map(taskMapper::toResponseDto);
+    }
+
+    public Mono<Void> patchTask(Long id, TaskPatchDTO patch) {
+        return taskRepo.updateStatusAndPriority(id, patch.getStatus(), patch.getPriority(), Task.currentTimestamp())
+                .flatMap(rows -> rows == 0 ? Mono.error(new TaskNotFoundException(id)) : Mono.empty());
+    }
+
+    public Mono<Void> deleteTask(Long id) {
+        return taskRepo.deleteById(id)
+                .flatMap(rows -> rows == 0 ? Mono.error(new TaskNotFoundException(id)) : Mono.empty());
+    }
+
+    public Flux<TaskResponseDTO> getTasksByStatus(Task.TaskStatus status) {
+        return taskRepo.findByStatus(status).map(taskMapper::toResponseDto);
+    }
+
+    public Flux<TaskResponseDTO> getTasksByPriority(Task.TaskPriority priority) {
+        return taskRepo.findByPriorityRank(priority.rank()).map(taskMapper::toResponseDto);
+    }
+
+    public Flux<TaskResponseDTO> getAllTasksOrderedByPriority() {
+        return taskRepo.findAllOrderByPriorityRankDescCreatedAtDesc().map(taskMapper::toResponseDto);
+    }
+
+    public Flux<TaskResponseDTO> getAllTasksOrderedByDate() {
+        return taskRepo.findAllOrderByCreatedAtDesc().map(taskMapper::toResponseDto);
+    }
+
+    // Grouped counts folded into the same shape as /api/tasks/stats on the MVC backend
+    public Mono<TaskStatsDTO> getTaskStats() {
+        return taskRepo.countByStatusAndPriority()
+                .collectList()
+                .map(ReactiveTaskService::toStats);
+    }
+
+    // 404 when the task is gone, 409 when it has moved past the expected version
+    private Mono<Task> notUpdated(Long id, Long expectedVersion) {
+        return taskRepo.findById(id)
+                .switchIfEmpty(Mono.error(new TaskNotFoundException(id)))
+                .flatMap(current -> Mono.error(new TaskConflictException(id, expectedVersion, current.getVersion())));
+    }
+
+    private static TaskStatsDTO toStats(List<TaskCountDTO> rows) {
+        Map<Task.TaskStatus, Long> byStatus = new EnumMap<>(Task.TaskStatus.class);
+        Map<Task.TaskPriority, Long> byPriority = new EnumMap<>(Task.TaskPriority.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+            byPriority.put(priority, 0L);
+        }
+        long total = 0;
+        for (TaskCountDTO row : rows) {
+            byStatus.merge(row.getStatus(), row.getCount(), Long::sum);
+            byPriority.merge(row.getPriority(), row.getCount(), Long::sum);
+            total += row.getCount();
+        }
+        return new TaskStatsDTO(total, byStatus, byPriority);
+    }
+}
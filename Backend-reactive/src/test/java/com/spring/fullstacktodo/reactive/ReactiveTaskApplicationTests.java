@@ -0,0 +1,78 @@
+package com.spring.fullstacktodo.reactive;
+
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveTaskApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void taskLifecycle() {
+        TaskResponseDTO created = webTestClient.post().uri("/api/tasks")
+                .bodyValue(new TaskRequestDTO("Reactive task", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(created.getId()).isNotNull();
+
+        webTestClient.put().uri("/api/tasks/{id}", created.getId())
+                .bodyValue(new TaskRequestDTO("Renamed", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH, 0L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(1);
+        webTestClient.put().uri("/api/tasks/{id}", created.getId())
+                .bodyValue(new TaskRequestDTO("Stale", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH, 0L))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        webTestClient.patch().uri("/api/tasks/{id}", created.getId())
+                .bodyValue(new TaskPatchDTO(Task.TaskStatus.DONE, null))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/tasks/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("DONE")
+                .jsonPath("$.priority").isEqualTo("HIGH");
+
+        webTestClient.delete().uri("/api/tasks/{id}", created.getId()).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/tasks/{id}", created.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void listsStreamAsNdjson() {
+        for (int i = 0; i < 3; i++) {
+            webTestClient.post().uri("/api/tasks")
+                    .bodyValue(new TaskRequestDTO("Streamed " + i, "row " + i, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        Flux<TaskResponseDTO> tasks = webTestClient.get().uri("/api/tasks/status/IN_PROGRESS")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TaskResponseDTO.class)
+                .getResponseBody();
+        StepVerifier.create(tasks.filter(task -> task.getTitle().startsWith("Streamed")))
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+}
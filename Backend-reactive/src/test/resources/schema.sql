@@ -0,0 +1,15 @@
+-- The tasks schema after the MVC backend's V1-V2, V5 and V6 migrations (unpartitioned; the Postgres-only search column is left out)
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS tasks (
+    id            BIGINT        NOT NULL,
+    board_id      BIGINT        NOT NULL DEFAULT 0,
+    title         VARCHAR(255)  NOT NULL,
+    description   VARCHAR(1000),
+    status        VARCHAR(255)  NOT NULL,
+    priority      VARCHAR(255)  NOT NULL,
+    priority_rank SMALLINT      NOT NULL,
+    created_at    TIMESTAMP(6)  NOT NULL,
+    updated_at    TIMESTAMP(6),
+    version       BIGINT        NOT NULL DEFAULT 0,
+    PRIMARY KEY (board_id, id)
+);
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Startup time and memory of the plain jar (eager beans, Swagger on via the dev profile: the previous
+# default) against the `startup` build (AOT + CDS archive + lazy initialization). Needs a running
+# Postgres (see application.properties); extra JVM options can be passed in JAVA_OPTS.
+#
+#   ./load/compare-startup.sh [runs]
+#
+# Each run starts the app, waits for the first answer from /actuator/health and records the elapsed
+# time and the resident set size at that moment. Medians land in load/results/startup.txt.
+set -euo pipefail
+
+RUNS=${1:-5}
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+RESULTS="${DIR}/load/results"
+APP="${DIR}/target/application"
+mkdir -p "${RESULTS}"
+
+(cd "${DIR}" && ./mvnw -q -Pstartup -DskipTests package)
+JAR=$(ls "${DIR}"/target/full-stack-to-do-*-exec.jar | head -1)
+EXTRACTED=$(ls "${APP}"/full-stack-to-do-*-exec.jar | head -1)
+
+# Prints "<milliseconds> <rss KiB>" for one start of `java "$@"`
+measure() {
+  local start pid
+  start=$(date +%s%N)
+  java ${JAVA_OPTS:-} "$@" > "${RESULTS}/startup-app.log" 2>&1 &
+  pid=$!
+  until curl -s -o /dev/null "http://localhost:8080/actuator/health"; do
+    kill -0 "${pid}" 2>/dev/null || { echo "application did not start" >&2; exit 1; }
+    sleep 0.05
+  done
+  echo "$(( ($(date +%s%N) - start) / 1000000 )) $(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+run_mode() {
+  local mode=$1
+  shift
+  local samples="${RESULTS}/startup-${mode}.txt"
+  : > "${samples}"
+  for _ in $(seq 1 "${RUNS}"); do
+    measure "$@" >> "${samples}"
+  done
+  printf '%-9s startup %5s ms   rss %7s KiB\n' "${mode}" \
+    "$(cut -d' ' -f1 "${samples}" | median)" "$(cut -d' ' -f2 "${samples}" | median)"
+}
+
+{
+  run_mode baseline -jar "${JAR}" --spring.profiles.active=dev
+  run_mode startup -XX:SharedArchiveFile="${APP}/application.jsa" -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=startup -jar "${EXTRACTED}"
+} | tee "${RESULTS}/startup.txt"
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Compare platform-thread MVC, virtual-thread MVC and the reactive (WebFlux + R2DBC) backend
+# under the same load. Needs a running Postgres (see application.properties) and `hey`
+# (https://github.com/rakyll/hey).
+#
+#   ./load/compare-thread-modes.sh [concurrency] [duration]
+#
+# Each mode starts its packaged app, seeds tasks once, warms up, then runs the same full-list and
+# stats reads against it. Results land in load/results/.
+set -euo pipefail
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30s}
+DIR="$(cd "$(dirname "$0")/.." && pwd)"
+ROOT="$(cd "${DIR}/.." && pwd)"
+RESULTS="${DIR}/load/results"
+mkdir -p "${RESULTS}"
+
+(cd "${ROOT}" && "${DIR}/mvnw" -q -f "${ROOT}/pom.xml" -DskipTests package)
+MVC_JAR=$(ls "${DIR}"/target/full-stack-to-do-*-exec.jar | head -1)
+REACTIVE_JAR=$(ls "${ROOT}"/Backend-reactive/target/full-stack-to-do-reactive-*.jar | grep -v original | head -1)
+
+wait_for_app() {
+  local base=$1
+  for _ in $(seq 1 60); do
+    curl -sf "${base}/stats" > /dev/null && return 0
+    sleep 1
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+seed() {
+  local base=$1 count
+  count=$(curl -sf "${base}/stats" | sed -E 's/.*"total":([0-9]+).*/\1/')
+  if [ "${count}" -lt 1000 ]; then
+    local body="["
+    for i in $(seq 1 1000); do
+      body+="{\"title\":\"Load task ${i}\",\"description\":\"seeded\",\"status\":\"TODO\",\"priority\":\"MEDIUM\"},"
+    done
+    curl -sf -X POST -H 'Content-Type: application/json' -d "${body%,}]" "${base}/batch" > /dev/null
+  fi
+}
+
+run_mode() {
+  local mode=$1 jar=$2 port=$3 profile=$4
+  local base="http://localhost:${port}/api/tasks"
+  echo "== ${mode}"
+  java -jar "${jar}" ${profile:+--spring.profiles.active=${profile}} > "${RESULTS}/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" RETURN
+  wait_for_app "${base}"
+  hey -z 5s -c 50 "${base}" > /dev/null
+  hey -z "${DURATION}" -c "${CONCURRENCY}" "${base}" > "${RESULTS}/${mode}-list.txt"
+  hey -z "${DURATION}" -c "${CONCURRENCY}" "${base}/order/priority" > "${RESULTS}/${mode}-priority.txt"
+  hey -z "${DURATION}" -c "${CONCURRENCY}" "${base}/stats" > "${RESULTS}/${mode}-stats.txt"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+}
+
+# Seeding goes through the MVC batch endpoint; the reactive backend reads the same table
+java -jar "${MVC_JAR}" > "${RESULTS}/seed-app.log" 2>&1 &
+SEED_PID=$!
+wait_for_app "http://localhost:8080/api/tasks"
+seed "http://localhost:8080/api/tasks"
+kill "${SEED_PID}"
+wait "${SEED_PID}" 2>/dev/null || true
+
+run_mode platform "${MVC_JAR}" 8080 ""
+run_mode virtual "${MVC_JAR}" 8080 virtual-threads
+run_mode reactive "${REACTIVE_JAR}" 8081 ""
+
+for report in list priority stats; do
+  echo "-- ${report}"
+  for mode in platform virtual reactive; do
+    printf '%-9s' "${mode}"
+    grep -E 'Requests/sec|99%' "${RESULTS}/${mode}-${report}.txt" | tr -s ' ' | tr '\n' ' '
+    grep -cE '\[(5..)\]' "${RESULTS}/${mode}-${report}.txt" | sed 's/^/ 5xx status lines: /'
+  done
+done
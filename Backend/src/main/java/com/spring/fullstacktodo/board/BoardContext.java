@@ -0,0 +1,73 @@
+package com.spring.fullstacktodo.board;
+
+import java.util.function.Supplier;
+
+// The board (tenant) the current thread works on. Requests under /api/boards/{boardId}/tasks bind their
+// board (BoardRoutingInterceptor), everything else works on the default board, which is also what
+// /api/tasks serves. Hibernate reads it when a session opens (BoardTenantResolver), so every JPQL and
+// criteria query on Task is restricted to the board, which lets Postgres prune to its partition.
+// Jobs that maintain state for all boards (index rebuilds, write-behind flushes) run acrossBoards.
+public final class BoardContext {
+    public static final long DEFAULT_BOARD = 0;
+    // Tenant id of sessions that see every board; never a valid board id
+    static final long ALL_BOARDS = -1;
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private BoardContext() {
+    }
+
+    // Board of the current thread; ALL_BOARDS inside acrossBoards
+    public static long current() {
+        Long board = CURRENT.get();
+        return board != null ? board : DEFAULT_BOARD;
+    }
+
+    // Whether the current thread works on every board
+    public static boolean isAcrossBoards() {
+        return current() == ALL_BOARDS;
+    }
+
+    // Run `work` on the given board, restoring the previous one afterwards
+    public static <T> T callOn(long board, Supplier<T> work) {
+        Long previous = CURRENT.get();
+        CURRENT.set(board);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runOn(long board, Runnable work) {
+        callOn(board, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Run `work` with sessions that read and write tasks of every board
+    public static <T> T acrossBoards(Supplier<T> work) {
+        return callOn(ALL_BOARDS, work);
+    }
+
+    public static void acrossBoards(Runnable work) {
+        runOn(ALL_BOARDS, work);
+    }
+
+    static void bind(long board) {
+        CURRENT.set(board);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(Long previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.fullstacktodo.board;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+// Binds the {boardId} of /api/boards/{boardId}/tasks/** to the request thread for the handler and the
+// response it writes; routes without one stay on the default board
+public class BoardRoutingInterceptor implements AsyncHandlerInterceptor {
+    public static final String BOARD_ID = "boardId";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String board = variables != null ? variables.get(BOARD_ID) : null;
+        // The route only matches digits, so this is a valid board id
+        BoardContext.bind(board != null ? Long.parseLong(board) : BoardContext.DEFAULT_BOARD);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        BoardContext.clear();
+    }
+
+    // An SSE stream leaves the request thread here; the subscription has taken its board already
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        BoardContext.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring.fullstacktodo.board;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+// Hands Hibernate the board of the thread that opens a session. Task.boardId is the @TenantId, so
+// Hibernate fills it on insert and adds "board_id = ?" to every query; the ALL_BOARDS root tenant
+// is not restricted. Registered in BoardConfig
+public class BoardTenantResolver implements CurrentTenantIdentifierResolver<Long> {
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        return BoardContext.current();
+    }
+
+    // A session keeps the board it was opened with
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(Long tenantId) {
+        return tenantId == BoardContext.ALL_BOARDS;
+    }
+}
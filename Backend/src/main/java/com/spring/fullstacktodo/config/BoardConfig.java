@@ -0,0 +1,26 @@
+package com.spring.fullstacktodo.config;
+
+import com.spring.fullstacktodo.board.BoardRoutingInterceptor;
+import com.spring.fullstacktodo.board.BoardTenantResolver;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Boards (tenants): requests bind their board from the route, Hibernate scopes every session to it.
+// See BoardContext
+@Configuration
+public class BoardConfig implements WebMvcConfigurer {
+
+    @Bean
+    public HibernatePropertiesCustomizer boardTenantCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new BoardTenantResolver());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BoardRoutingInterceptor()).addPathPatterns("/api/tasks/**", "/api/boards/**");
+    }
+}
@@ -0,0 +1,99 @@
+package com.spring.fullstacktodo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+// Caches in front of TaskRepo. Caffeine unless spring.cache.type names another backend, in which case
+// Spring Boot configures that CacheManager and TaskService does not change.
+// Entries are keyed by board and arguments, so boards never see each other's entries
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // Task by id (also remembers ids that do not exist)
+    public static final String TASKS = "tasks";
+    // Task lists by status / by priority
+    public static final String TASKS_BY_STATUS = "tasksByStatus";
+    public static final String TASKS_BY_PRIORITY = "tasksByPriority";
+    // Key generator of every task cache
+    public static final String BOARD_KEY = "boardKeyGenerator";
+
+    @Bean(BOARD_KEY)
+    public KeyGenerator boardKeyGenerator() {
+        return (target, method, params) -> key(BoardContext.current(), params);
+    }
+
+    // Bounded by the number of tasks held, not of entries: a list entry weighs as many tasks as it holds,
+    // so a few board-sized lists cannot pin an unbounded amount of memory
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${tasks.cache.maximum-weight:10000}") long maximumWeight,
+                                     @Value("${tasks.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new TaskCopyingCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Object key, Object value) -> value instanceof Collection<?> tasks ? Math.max(1, tasks.size()) : 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(TASKS, TASKS_BY_STATUS, TASKS_BY_PRIORITY));
+        return cacheManager;
+    }
+
+    // Cache key of the given arguments on a board, e.g. for evicting one task
+    public static SimpleKey key(long board, Object... params) {
+        Object[] elements = new Object[params.length + 1];
+        elements[0] = board;
+        System.arraycopy(params, 0, elements, 1, params.length);
+        return new SimpleKey(elements);
+    }
+
+    // The DTOs are mutable, so the cache keeps its own copies (in unmodifiable lists) and hands every
+    // caller a fresh one; a caller changing its result cannot change what the next caller reads
+    static class TaskCopyingCache extends CaffeineCache {
+
+        TaskCopyingCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            return super.toStoreValue(copy(userValue));
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return copy(super.fromStoreValue(storeValue));
+        }
+
+        private static Object copy(Object value) {
+            if (value instanceof TaskResponseDTO task) {
+                return new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                        task.getPriority(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+            }
+            if (value instanceof List<?> list) {
+                return list.stream().map(TaskCopyingCache::copy).toList();
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.spring.fullstacktodo.config;
+
+import com.spring.fullstacktodo.exception.TaskProblems;
+import com.spring.fullstacktodo.metrics.RepositoryRowsInterceptor;
+import com.spring.fullstacktodo.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+// Hot-path instrumentation on top of what actuator binds by itself (HTTP, Hikari, caches, Hibernate
+// statistics, spring.data.repository.invocations). Everything is scraped from /actuator/prometheus.
+@Configuration
+public class MetricsConfig {
+
+    // Let SqlStatementCounter see every statement Hibernate prepares
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    // Add the row-count advice to every Spring Data repository proxy
+    @Bean
+    public static BeanPostProcessor repositoryRowsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryRowsInterceptor(
+                                    meterRegistry.getObject(), information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Error responses per problem, split by whether an exception was thrown for them. Their latency is in
+    // http.server.requests under the same status
+    @Bean
+    public MeterBinder taskErrorMetrics(TaskProblems problems) {
+        return registry -> problems.forEachProblem(problem -> {
+            for (boolean fromException : new boolean[]{true, false}) {
+                FunctionCounter.builder("tasks.errors", problem, p -> p.count(fromException))
+                        .description("Error responses sent")
+                        .tag("status", String.valueOf(problem.status()))
+                        .tag("error", problem.title())
+                        .tag("source", fromException ? "exception" : "direct")
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -4,8 +4,11 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+// API docs are a development aid; springdoc itself is switched off outside the dev profile
 @Configuration
+@Profile("dev")
 public class OpenAPIConfig {
 
     @Bean
@@ -0,0 +1,21 @@
+package com.spring.fullstacktodo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// With spring.main.lazy-initialization (the startup profile) beans are created on first use. Persistence
+// stays eager: a bad migration or schema mismatch fails the start instead of the first request, and no
+// request waits for Hibernate to bootstrap
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistence() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, FlywayMigrationInitializer.class, EntityManagerFactory.class);
+    }
+}
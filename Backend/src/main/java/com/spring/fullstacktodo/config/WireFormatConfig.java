@@ -0,0 +1,43 @@
+package com.spring.fullstacktodo.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Compact binary representation (CBOR) for clients that send Accept: application/cbor.
+// Field names stay, but enums go out as ordinals, timestamps as epoch millis and nulls are
+// left out. Like the JSON converter, it writes straight to the response stream.
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+                .build());
+    }
+
+    // Timestamps are stored as server-local LocalDateTime; send the instant they denote
+    static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -1,23 +1,60 @@
 package com.spring.fullstacktodo.controller;
 
+import com.spring.fullstacktodo.dto.TaskBatchResultDTO;
+import com.spring.fullstacktodo.dto.TaskBatchTransitionDTO;
+import com.spring.fullstacktodo.dto.TaskBatchUpdateDTO;
+import com.spring.fullstacktodo.dto.TaskChangesDTO;
+import com.spring.fullstacktodo.dto.TaskImportResultDTO;
+import com.spring.fullstacktodo.dto.TaskPageDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskQueryDTO;
 import com.spring.fullstacktodo.dto.TaskRequestDTO;
 import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.exception.TaskPreconditionFailedException;
+import com.spring.fullstacktodo.exception.TaskProblems;
 import com.spring.fullstacktodo.model.Task;
 import com.spring.fullstacktodo.service.TaskService;
+import com.spring.fullstacktodo.transfer.TaskTransferFormat;
+import com.spring.fullstacktodo.transfer.TaskTransferService;
+import com.spring.fullstacktodo.util.TaskETags;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+// /api/tasks is the default board; every route is also served per board under /api/boards/{boardId}/tasks
+// (BoardRoutingInterceptor binds the board, Hibernate scopes the queries to it)
 @RestController
-@RequestMapping("/api/tasks")
+@RequestMapping({"/api/tasks", "/api/boards/{boardId:\\d{1,18}}/tasks"})
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*") // Allow requests from React frontend
+@CrossOrigin(origins = "*", exposedHeaders = {TaskController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG}) // Allow requests from React frontend
 public class TaskController {
 
+    // Response header carrying the cursor of the next keyset page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String RETURN_REPRESENTATION = "return=representation";
+    // List view without descriptions (TaskSummaryDTO)
+    private static final String SUMMARY_VIEW = "summary";
+
     private final TaskService taskService;
+    private final TaskTransferService taskTransferService;
+    private final TaskProblems taskProblems;
 
     // Create a new task
     @PostMapping
@@ -26,31 +63,138 @@ public class TaskController {
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
-    // Get all tasks
+    // Create many tasks at once
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@RequestBody List<TaskRequestDTO> taskRequestDTOs) {
+        return new ResponseEntity<>(taskService.createTasks(taskRequestDTOs), HttpStatus.CREATED);
+    }
+
+    // Update many tasks at once
+    @PutMapping("/batch")
+    public ResponseEntity<List<TaskResponseDTO>> updateTasks(@RequestBody List<TaskBatchUpdateDTO> taskBatchUpdateDTOs) {
+        return ResponseEntity.ok(taskService.updateTasks(taskBatchUpdateDTOs));
+    }
+
+    // Change status and/or priority of many tasks at once
+    @PatchMapping("/batch")
+    public ResponseEntity<TaskBatchResultDTO> transitionTasks(@RequestBody TaskBatchTransitionDTO transition) {
+        return ResponseEntity.ok(taskService.transitionTasks(transition));
+    }
+
+    // Delete many tasks by id
+    @DeleteMapping("/batch")
+    public ResponseEntity<TaskBatchResultDTO> deleteTasks(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+
+    // Get all tasks; view=summary leaves out the description. Filters, sort keys and fields
+    // (see TaskQueryDTO) turn it into a single server-side query
     @GetMapping()
-    public ResponseEntity<List<TaskResponseDTO>> getAllTasks() {
-        List<TaskResponseDTO> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<?>> getAllTasks(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String view, TaskQueryDTO query, Sort sort,
+                                               WebRequest request) {
+        return conditional(request, () -> {
+            if (isQuery(query, sort)) {
+                return toPageResponse(taskService.queryTasks(query, sort, cursor, isKeyset(cursor, limit) ? pageSize(limit) : null));
+            }
+            if (isSummary(view)) {
+                return isKeyset(cursor, limit)
+                        ? toPageResponse(taskService.getTaskSummaries(null, cursor, pageSize(limit)))
+                        : ResponseEntity.ok(taskService.getTaskSummaries(null));
+            }
+            if (isKeyset(cursor, limit)) {
+                return toPageResponse(taskService.getAllTasks(cursor, pageSize(limit)));
+            }
+            List<TaskResponseDTO> tasks = taskService.getAllTasks();
+            return ResponseEntity.ok(tasks);
+        });
+    }
+
+    // Stream every task as NDJSON (default) or CSV for backups and migrations; rows are written as the
+    // database cursor returns them
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        TaskTransferFormat transferFormat = TaskTransferFormat.of(format);
+        response.setContentType(transferFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("tasks." + transferFormat.extension()).build().toString());
+        taskTransferService.exportTasks(transferFormat, response.getOutputStream());
     }
 
-    // Get task by ID
+    // Create a task for every record of an NDJSON (default) or CSV upload, committed in batches
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportResultDTO> importTasks(@RequestParam(defaultValue = "ndjson") String format, InputStream body) throws IOException {
+        return ResponseEntity.ok(taskTransferService.importTasks(TaskTransferFormat.of(format), body));
+    }
+
+    // Get task counts by status and priority
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getTaskStats(WebRequest request) {
+        return conditional(request, () -> ResponseEntity.ok(taskService.getTaskStats()));
+    }
+
+    // Changes committed after `since`; call without `since` first to get the starting cursor
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "" + TaskService.MAX_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(taskService.getChangesSince(since, limit));
+    }
+
+    // Live change stream; EventSource resends the last event id on reconnect, which resumes the stream
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskService.subscribeToChanges(lastEventId != null ? lastEventId : since);
+    }
+
+    // Get task by ID. Clients poll ids that are often deleted, so the 404 is returned, not thrown
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable Long id) {
-        return taskService.getTaskById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> getTaskById(@PathVariable Long id, WebRequest request) {
+        Optional<TaskResponseDTO> task = taskService.getTaskById(id);
+        if (task.isEmpty()) {
+            return taskProblems.taskNotFound(id);
+        }
+        String etag = TaskETags.forTask(task.get());
+        // If-None-Match hit: answer 304 without serializing the task
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(task.get());
     }
 
-    // Update a task
+    // Update a task; with If-Match (412) or a version in the body (409) it only succeeds if the task is unchanged since
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long id, @RequestBody TaskRequestDTO taskRequestDTO) {
-        return ResponseEntity.ok(taskService.updateTask(id, taskRequestDTO));
+    public ResponseEntity<TaskResponseDTO> updateTask(@PathVariable Long id, @RequestBody TaskRequestDTO taskRequestDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO updated = taskService.updateTask(id, taskRequestDTO, expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(TaskETags.forTask(updated)).body(updated);
     }
 
     // Delete a task
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        taskService.deleteTask(id);
+    public ResponseEntity<?> deleteTask(@PathVariable Long id) {
+        if (!taskService.deleteTask(id)) {
+            return taskProblems.taskNotFound(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Partially update a task (status and/or priority).
+    // Answers 204 after one UPDATE; send "Prefer: return=representation" to get the task back
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @RequestBody TaskPatchDTO taskPatchDTO,
+                                       @RequestHeader(value = "Prefer", required = false) String prefer,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (!taskService.patchTask(id, taskPatchDTO, expectedVersion(ifMatch, id))) {
+            return taskProblems.taskNotFound(id);
+        }
+        if (RETURN_REPRESENTATION.equalsIgnoreCase(prefer)) {
+            Optional<TaskResponseDTO> task = taskService.getTaskById(id);
+            if (task.isEmpty()) {
+                return taskProblems.taskNotFound(id);
+            }
+            return ResponseEntity.ok().eTag(TaskETags.forTask(task.get())).body(task.get());
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -103,45 +247,147 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
-    // Get tasks by status
+    // Delete every task with the given status
+    @DeleteMapping("/status/{status}")
+    public ResponseEntity<Void> deleteTasksByStatus(@PathVariable Task.TaskStatus status) {
+        taskService.deleteTasksByStatus(status);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Clear completed tasks
+    @DeleteMapping("/completed")
+    public ResponseEntity<Void> deleteCompletedTasks() {
+        taskService.deleteTasksByStatus(Task.TaskStatus.DONE);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Get tasks by status; view=summary leaves out the description
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByStatus(@PathVariable Task.TaskStatus status) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByStatus(status);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<?>> getTasksByStatus(@PathVariable Task.TaskStatus status,
+                                                    @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String view, WebRequest request) {
+        return conditional(request, () -> {
+            if (isSummary(view)) {
+                return isKeyset(cursor, limit)
+                        ? toPageResponse(taskService.getTaskSummaries(status, cursor, pageSize(limit)))
+                        : ResponseEntity.ok(taskService.getTaskSummaries(status));
+            }
+            if (isKeyset(cursor, limit)) {
+                return toPageResponse(taskService.getTasksByStatus(status, cursor, pageSize(limit)));
+            }
+            List<TaskResponseDTO> tasks = taskService.getTasksByStatus(status);
+            return ResponseEntity.ok(tasks);
+        });
     }
 
     // Get tasks by priority
     @GetMapping("/priority/{priority}")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksByPriority(@PathVariable Task.TaskPriority priority) {
-        List<TaskResponseDTO> tasks = taskService.getTasksByPriority(priority);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponseDTO>> getTasksByPriority(@PathVariable Task.TaskPriority priority,
+                                                                    @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                                                    WebRequest request) {
+        return conditional(request, () -> {
+            if (isKeyset(cursor, limit)) {
+                return toPageResponse(taskService.getTasksByPriority(priority, cursor, pageSize(limit)));
+            }
+            List<TaskResponseDTO> tasks = taskService.getTasksByPriority(priority);
+            return ResponseEntity.ok(tasks);
+        });
     }
 
-//    // Get tasks by status and priority
-//    @GetMapping("/status-priority/{status}/{priority}")
-//    public ResponseEntity<List<TaskResponseDTO>> getTasksByStatusAndPriority(@PathVariable Task.TaskStatus status, @PathVariable Task.TaskPriority priority) {
-//        List<TaskResponseDTO> tasks = taskService.getTasksByStatusAndPriority(status, priority);
-//        return ResponseEntity.ok(tasks);
-//    }
-
-    // Search tasks by title
+    // Search tasks by title and description (ranked, prefix matching); `title` is kept as an alias of `q`.
+    // Pages of `limit` hits, the next one from the X-Next-Cursor header
     @GetMapping("/search")
-    public ResponseEntity<List<TaskResponseDTO>> searchTasks(@RequestParam String title) {
-        List<TaskResponseDTO> tasks = taskService.searchTasksByTitle(title);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponseDTO>> searchTasks(@RequestParam(required = false) String q,
+                                                             @RequestParam(required = false) String title,
+                                                             @RequestParam(required = false) Task.TaskStatus status,
+                                                             @RequestParam(required = false) Task.TaskPriority priority,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "20") int limit,
+                                                             WebRequest request) {
+        return conditional(request, () -> toPageResponse(taskService.searchTasks(q != null ? q : title, status, priority, cursor, limit)));
     }
 
     // Get all tasks ordered by priority
     @GetMapping("/order/priority")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksOrderedByPriority() {
-        List<TaskResponseDTO> tasks = taskService.getAllTasksOrderedByPriority();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponseDTO>> getTasksOrderedByPriority(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                                                           WebRequest request) {
+        return conditional(request, () -> {
+            if (isKeyset(cursor, limit)) {
+                return toPageResponse(taskService.getAllTasksOrderedByPriority(cursor, pageSize(limit)));
+            }
+            List<TaskResponseDTO> tasks = taskService.getAllTasksOrderedByPriority();
+            return ResponseEntity.ok(tasks);
+        });
     }
 
     // Get all tasks ordered by date
     @GetMapping("/order/date")
-    public ResponseEntity<List<TaskResponseDTO>> getTasksOrderedByDate() {
-        List<TaskResponseDTO> tasks = taskService.getAllTasksOrderedByDate();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<TaskResponseDTO>> getTasksOrderedByDate(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                                                       WebRequest request) {
+        return conditional(request, () -> {
+            if (isKeyset(cursor, limit)) {
+                return toPageResponse(taskService.getAllTasksOrderedByDate(cursor, pageSize(limit)));
+            }
+            List<TaskResponseDTO> tasks = taskService.getAllTasksOrderedByDate();
+            return ResponseEntity.ok(tasks);
+        });
+    }
+
+    // Collection responses carry an ETag of the table version. It is read before the query, so a write
+    // racing with the query only makes the next request refetch. A matching If-None-Match skips the query.
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<? extends ResponseEntity<? extends T>> response) {
+        String etag = TaskETags.forCollection(taskService.getCollectionVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity<? extends T> fresh = response.get();
+        return ResponseEntity.status(fresh.getStatusCode())
+                .headers(fresh.getHeaders())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                // JSON and CBOR share the ETag, so caches have to keep them apart by Accept
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(fresh.getBody());
+    }
+
+    // No If-Match (or "*") means unconditional; an ETag that is not a current-format tag of this task can never match
+    private static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long expected = TaskETags.expectedVersion(ifMatch, id);
+        if (expected == null) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        return expected;
+    }
+
+    // Keyset mode is used as soon as the client sends a cursor or a limit
+    private static boolean isKeyset(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+
+    // Any filter, explicit sort or field selection
+    private static boolean isQuery(TaskQueryDTO query, Sort sort) {
+        return sort.isSorted() || query.getStatus() != null || query.getPriority() != null
+                || query.getCreatedFrom() != null || query.getCreatedTo() != null
+                || query.getUpdatedFrom() != null || query.getUpdatedTo() != null
+                || query.getQ() != null || query.getFields() != null;
+    }
+
+    private static boolean isSummary(String view) {
+        return SUMMARY_VIEW.equalsIgnoreCase(view);
+    }
+
+    private static <T> ResponseEntity<List<T>> toPageResponse(TaskPageDTO<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTasks());
     }
 }
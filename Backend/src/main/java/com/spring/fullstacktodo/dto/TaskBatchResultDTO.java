@@ -0,0 +1,13 @@
+package com.spring.fullstacktodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDTO {
+    private int requested;
+    private int affected;
+}
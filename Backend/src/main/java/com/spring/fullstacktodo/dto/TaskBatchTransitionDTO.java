@@ -0,0 +1,18 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Same status and/or priority applied to every listed task; null fields are left unchanged
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchTransitionDTO {
+    private List<Long> ids;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+}
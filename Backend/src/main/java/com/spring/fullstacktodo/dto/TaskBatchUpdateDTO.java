@@ -0,0 +1,19 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchUpdateDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+    // Version the client last saw; when set, the update fails with 409 if the task changed since
+    private Long version;
+}
@@ -0,0 +1,33 @@
+package com.spring.fullstacktodo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of the change feed; only the fields relevant to the type are set
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChangeDTO {
+    // Position in the feed, also usable as the `since` cursor to resume after this change
+    private String cursor;
+    private Type type;
+    private Long id;
+    // New state of the task for UPSERT
+    private TaskResponseDTO task;
+    // New status / priority for PATCH (null means unchanged), deleted status for DELETE_STATUS
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+
+    public enum Type {
+        UPSERT,         // task created or replaced
+        PATCH,          // status and/or priority of one task changed
+        DELETE,         // task removed
+        DELETE_STATUS,  // every task with `status` removed
+        CLEAR,          // every task removed
+        RESET           // the client fell behind the feed and has to reload the full list
+    }
+}
@@ -0,0 +1,18 @@
+package com.spring.fullstacktodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDTO {
+    private List<TaskChangeDTO> changes;
+    // Cursor to pass as `since` on the next call
+    private String cursor;
+    // True when more changes are waiting than fit in this response
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCountDTO {
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+    private Long count;
+}
@@ -0,0 +1,14 @@
+package com.spring.fullstacktodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResultDTO {
+    private long imported;
+    // Committed transactions, one per tasks.transfer.import-batch-size tasks
+    private int batches;
+}
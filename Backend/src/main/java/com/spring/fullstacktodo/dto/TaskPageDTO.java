@@ -0,0 +1,16 @@
+package com.spring.fullstacktodo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDTO<T> {
+    private List<T> tasks;
+    // Opaque cursor for the next page, null when this is the last page
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Partial update body; null fields are left unchanged
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPatchDTO {
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+}
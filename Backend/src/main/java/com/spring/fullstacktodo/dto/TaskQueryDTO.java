@@ -0,0 +1,34 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Query parameters of GET /api/tasks; every one is optional and they combine with AND.
+// Sorting comes from the standard `sort=property,direction` parameter.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskQueryDTO {
+    // Any of these statuses / priorities (repeat the parameter or separate with commas)
+    private List<Task.TaskStatus> status;
+    private List<Task.TaskPriority> priority;
+    // Half-open ranges: from <= value < to
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+    // Case-insensitive substring of the title
+    private String q;
+    // Sparse fieldset, e.g. fields=id,title,status; all fields when absent
+    private List<String> fields;
+}
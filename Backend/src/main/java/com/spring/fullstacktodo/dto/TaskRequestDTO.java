@@ -13,4 +13,11 @@ public class TaskRequestDTO {
     private String description;
     private Task.TaskStatus status;
     private Task.TaskPriority priority;
+    // Version the client last saw; when set, the update fails with 409 if the task changed since
+    private Long version;
+
+    // Unconditional create or update
+    public TaskRequestDTO(String title, String description, Task.TaskStatus status, Task.TaskPriority priority) {
+        this(title, description, status, priority, null);
+    }
 }
@@ -18,4 +18,6 @@ public class TaskResponseDTO {
     private Task.TaskPriority priority;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Incremented by every write; send it back (TaskRequestDTO.version or If-Match) to update conditionally
+    private Long version;
 }
@@ -0,0 +1,17 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDTO {
+    private long total;
+    private Map<Task.TaskStatus, Long> byStatus;
+    private Map<Task.TaskPriority, Long> byPriority;
+}
@@ -0,0 +1,20 @@
+package com.spring.fullstacktodo.dto;
+
+import com.spring.fullstacktodo.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Board/list view of a task: no description, so list payloads stay small
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryDTO {
+    private Long id;
+    private String title;
+    private Task.TaskStatus status;
+    private Task.TaskPriority priority;
+    private LocalDateTime updatedAt;
+}
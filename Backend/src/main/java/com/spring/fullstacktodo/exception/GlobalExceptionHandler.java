@@ -1,35 +1,99 @@
 package com.spring.fullstacktodo.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+// Every error is answered with an RFC 7807 problem body built by TaskProblems
+@Slf4j
 @RestControllerAdvice // Handle all exceptions in this controller
 public class GlobalExceptionHandler {
+    static final String INTERNAL_ERROR_DETAIL = "An unexpected error occurred";
+    static final String UNREADABLE_BODY_DETAIL = "The request body could not be read";
+    static final String INVALID_VALUE_DETAIL = "A request value has the wrong type";
+
+    private final TaskProblems problems;
+
+    public GlobalExceptionHandler(TaskProblems problems) {
+        this.problems = problems;
+    }
+
     // Handle specific exception (Task not found)
     @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleTaskNotFound(TaskNotFoundException ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.NOT_FOUND.value());
-        errorResponse.put("error", "Task Not Found");
-        errorResponse.put("message", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleTaskNotFound(TaskNotFoundException ex) {
+        return ex.getId() != null
+                ? problems.taskNotFound.respond(ex.getId(), true)
+                : problems.taskNotFound.respond(ex.getMessage(), true);
+    }
+
+    // Handle malformed or mismatched pagination cursors
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<byte[]> handleInvalidCursor(InvalidCursorException ex) {
+        return problems.invalidCursor.respond(ex.getMessage(), true);
+    }
+
+    // Handle unknown fields or sort keys in a task query
+    @ExceptionHandler(InvalidTaskQueryException.class)
+    public ResponseEntity<byte[]> handleInvalidQuery(InvalidTaskQueryException ex) {
+        return problems.invalidQuery.respond(ex.getMessage(), true);
+    }
+
+    // Handle import records that cannot be parsed or are missing required fields
+    @ExceptionHandler(InvalidTaskImportException.class)
+    public ResponseEntity<byte[]> handleInvalidImport(InvalidTaskImportException ex) {
+        return problems.invalidImport.respond(ex.getMessage(), true);
+    }
+
+    // Handle failed If-Match preconditions (the task changed since the client read it)
+    @ExceptionHandler(TaskPreconditionFailedException.class)
+    public ResponseEntity<byte[]> handlePreconditionFailed(TaskPreconditionFailedException ex) {
+        return problems.preconditionFailed.respond(ex.getMessage(), true);
+    }
+
+    // Handle updates based on a stale version, or that kept losing the race against concurrent writers
+    @ExceptionHandler({TaskConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<byte[]> handleConflict(RuntimeException ex) {
+        return problems.conflict.respond(ex instanceof TaskConflictException
+                ? ex.getMessage()
+                : "The task was modified concurrently, reload it and try again", true);
+    }
+
+    // Handle requests that could not get a database connection within the pool's connection-timeout
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<byte[]> handleDatabaseUnavailable(Exception ex) {
+        return problems.databaseUnavailable.respond("Database is busy, retry later", true);
     }
 
-    // Handle any unexpected exceptions
+    // Handle any unexpected exceptions; Spring's own client errors (unknown route, unsupported method,
+    // unreadable body, mistyped parameter) keep their 4xx status. A 500 gets a fixed detail, the exception
+    // (which may carry SQL, hosts or internal state) only goes to the log. So do the messages of unreadable
+    // bodies and mistyped values, which name parser and Java types: a mistyped parameter is only echoed
+    // by name and value
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGlobalException(Exception ex) {
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", ex.getMessage());
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> handleGlobalException(Exception ex) {
+        if (ex instanceof ErrorResponse errorResponse) {
+            return problems.forStatus(errorResponse.getStatusCode()).respond(errorResponse.getBody().getDetail(), true);
+        }
+        if (ex instanceof TypeMismatchException mismatch) {
+            log.warn("Rejected request value: {}", ex.toString());
+            return problems.forStatus(HttpStatus.BAD_REQUEST).respond(mismatch.getPropertyName() != null
+                    ? "Invalid value '" + mismatch.getValue() + "' for parameter '" + mismatch.getPropertyName() + "'"
+                    : INVALID_VALUE_DETAIL, true);
+        }
+        if (ex instanceof HttpMessageNotReadableException || ex instanceof DecodingException) {
+            log.warn("Rejected request body: {}", ex.toString());
+            return problems.forStatus(HttpStatus.BAD_REQUEST).respond(UNREADABLE_BODY_DETAIL, true);
+        }
+        log.error("Unhandled exception", ex);
+        return problems.forStatus(HttpStatus.INTERNAL_SERVER_ERROR).respond(INTERNAL_ERROR_DETAIL, true);
     }
 }
@@ -0,0 +1,8 @@
+package com.spring.fullstacktodo.exception;
+
+// A record of an import that cannot be read; the batches before it stay committed
+public class InvalidTaskImportException extends RuntimeException {
+    public InvalidTaskImportException(long line, String reason, long imported) {
+        super("Line " + line + ": " + reason + " (" + imported + " tasks before it were imported)");
+    }
+}
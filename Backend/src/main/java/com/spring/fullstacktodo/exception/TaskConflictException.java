@@ -0,0 +1,13 @@
+package com.spring.fullstacktodo.exception;
+
+// Expected under concurrent edits, so stackless
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(Long id, Long expectedVersion, Long currentVersion) {
+        super("Task " + id + " is at version " + currentVersion + ", the update was based on version " + expectedVersion,
+                null, false, false);
+    }
+
+    public TaskConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
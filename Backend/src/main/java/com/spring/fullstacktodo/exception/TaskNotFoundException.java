@@ -1,11 +1,29 @@
 package com.spring.fullstacktodo.exception;
 
+// Only thrown where a missing task has to abort a write; lookups, deletes and patches report it as
+// Optional/boolean instead. Stackless, and the message is only built when someone reads it
 public class TaskNotFoundException extends RuntimeException{
+    static final String MESSAGE_PREFIX = "Task not found with id: ";
+
+    private final Long id;
+
     public TaskNotFoundException(Long id) {
-        super("Task not found with id: " + id);
+        super(null, null, false, false);
+        this.id = id;
     }
 
     public TaskNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.id = null;
+    }
+
+    // The missing task, null for the batch form
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return id != null ? MESSAGE_PREFIX + id : super.getMessage();
     }
 }
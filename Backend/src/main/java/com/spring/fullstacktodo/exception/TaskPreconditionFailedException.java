@@ -0,0 +1,16 @@
+package com.spring.fullstacktodo.exception;
+
+// Expected under concurrent edits, so stackless with a lazily built message
+public class TaskPreconditionFailedException extends RuntimeException {
+    private final Long id;
+
+    public TaskPreconditionFailedException(Long id) {
+        super(null, null, false, false);
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Task " + id + " was modified since the given ETag";
+    }
+}
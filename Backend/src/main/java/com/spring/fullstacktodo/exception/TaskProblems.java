@@ -0,0 +1,151 @@
+package com.spring.fullstacktodo.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// RFC 7807 error responses (application/problem+json) written from templates: the JSON of each problem up
+// to its detail is serialized once, a response copies it and appends the escaped detail. Headers are shared
+// read-only instances, so an error response is one byte[] and the ResponseEntity. Responses are counted per
+// problem and source (thrown exception or direct return); MetricsConfig publishes them as tasks.errors
+@Component
+public class TaskProblems {
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] DETAIL = ascii(",\"detail\":\"");
+    private static final byte[] END = ascii("}");
+    private static final byte[] END_DETAIL = ascii("\"}");
+    private static final byte[] NOT_FOUND_DETAIL = ascii(",\"detail\":\"" + TaskNotFoundException.MESSAGE_PREFIX);
+    private static final HttpHeaders HEADERS = headers(false);
+    private static final HttpHeaders RETRY_HEADERS = headers(true);
+
+    private final List<Consumer<Problem>> listeners = new CopyOnWriteArrayList<>();
+    // Generic problems for Spring's own errors (unknown route, bad parameter, ...), one per status
+    private final Map<Integer, Problem> byStatus = new ConcurrentHashMap<>();
+    private final List<Problem> problems = new CopyOnWriteArrayList<>();
+
+    final Problem taskNotFound = register(new Problem(HttpStatus.NOT_FOUND, "Task Not Found", HEADERS));
+    final Problem invalidCursor = register(new Problem(HttpStatus.BAD_REQUEST, "Invalid Cursor", HEADERS));
+    final Problem invalidQuery = register(new Problem(HttpStatus.BAD_REQUEST, "Invalid Query", HEADERS));
+    final Problem invalidImport = register(new Problem(HttpStatus.BAD_REQUEST, "Invalid Import", HEADERS));
+    final Problem preconditionFailed = register(new Problem(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", HEADERS));
+    final Problem conflict = register(new Problem(HttpStatus.CONFLICT, "Conflict", HEADERS));
+    final Problem databaseUnavailable = register(new Problem(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", RETRY_HEADERS));
+
+    // 404 for a task id, without an exception
+    public ResponseEntity<byte[]> taskNotFound(Long id) {
+        return taskNotFound.respond(id, false);
+    }
+
+    // Problem for any other status, titled with its reason phrase
+    Problem forStatus(HttpStatusCode status) {
+        return byStatus.computeIfAbsent(status.value(), code -> {
+            HttpStatus known = HttpStatus.resolve(code);
+            return register(new Problem(status, known != null ? known.getReasonPhrase() : "Error", HEADERS));
+        });
+    }
+
+    // Called for every problem, now and as new ones appear
+    public void forEachProblem(Consumer<Problem> listener) {
+        listeners.add(listener);
+        problems.forEach(listener);
+    }
+
+    private Problem register(Problem problem) {
+        problems.add(problem);
+        listeners.forEach(listener -> listener.accept(problem));
+        return problem;
+    }
+
+    public static final class Problem {
+        private final HttpStatusCode status;
+        private final String title;
+        private final HttpHeaders headers;
+        // {"type":"about:blank","title":"...","status":...
+        private final byte[] head;
+        private final LongAdder thrown = new LongAdder();
+        private final LongAdder direct = new LongAdder();
+
+        private Problem(HttpStatusCode status, String title, HttpHeaders headers) {
+            this.status = status;
+            this.title = title;
+            this.headers = headers;
+            this.head = ("{\"type\":\"about:blank\",\"title\":\"" + new String(ENCODER.quoteAsString(title))
+                    + "\",\"status\":" + status.value()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        public int status() {
+            return status.value();
+        }
+
+        public String title() {
+            return title;
+        }
+
+        // Responses so far, from exception handlers or from direct returns
+        public long count(boolean fromException) {
+            return (fromException ? thrown : direct).sum();
+        }
+
+        ResponseEntity<byte[]> respond(String detail, boolean fromException) {
+            byte[] body;
+            if (detail == null) {
+                body = new byte[head.length + END.length];
+                System.arraycopy(END, 0, body, head.length, END.length);
+            } else {
+                byte[] escaped = ENCODER.quoteAsUTF8(detail);
+                body = new byte[head.length + DETAIL.length + escaped.length + END_DETAIL.length];
+                int at = copy(DETAIL, body, head.length);
+                at = copy(escaped, body, at);
+                copy(END_DETAIL, body, at);
+            }
+            System.arraycopy(head, 0, body, 0, head.length);
+            return finish(body, fromException);
+        }
+
+        // "Task not found with id: <id>" written straight into the body
+        ResponseEntity<byte[]> respond(long id, boolean fromException) {
+            byte[] number = ascii(Long.toString(id));
+            byte[] body = new byte[head.length + NOT_FOUND_DETAIL.length + number.length + END_DETAIL.length];
+            System.arraycopy(head, 0, body, 0, head.length);
+            int at = copy(NOT_FOUND_DETAIL, body, head.length);
+            at = copy(number, body, at);
+            copy(END_DETAIL, body, at);
+            return finish(body, fromException);
+        }
+
+        private ResponseEntity<byte[]> finish(byte[] body, boolean fromException) {
+            (fromException ? thrown : direct).increment();
+            return new ResponseEntity<>(body, headers, status);
+        }
+    }
+
+    private static int copy(byte[] from, byte[] to, int at) {
+        System.arraycopy(from, 0, to, at, from.length);
+        return at + from.length;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static HttpHeaders headers(boolean retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        if (retryAfter) {
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+}
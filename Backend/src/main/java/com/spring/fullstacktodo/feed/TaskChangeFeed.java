@@ -0,0 +1,203 @@
+package com.spring.fullstacktodo.feed;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskChangeDTO;
+import com.spring.fullstacktodo.dto.TaskChangesDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.mapper.TaskMapper;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskChangeListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Ordered log of committed task changes. The latest `retained` changes are kept in a ring buffer,
+// addressed by sequence number, so clients can pull what happened since their cursor or stream it.
+// Cursors are "<feed id>.<sequence>"; a cursor from another instance or one that has already been
+// overwritten gets a RESET, after which the client reloads the full list. All boards share one sequence;
+// pulls and streams only see the changes of the board they were made on, sequence gaps are expected.
+@Component
+public class TaskChangeFeed implements TaskChangeListener {
+    private final String feedId = UUID.randomUUID().toString().substring(0, 8);
+    private final TaskMapper taskMapper;
+    private final int subscriberBuffer;
+    private final long streamTimeoutMillis;
+    private final TaskChangeDTO[] ring;
+    // Board of each change in `ring`
+    private final long[] ringBoards;
+    private final Set<TaskChangeSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    // Blocking sends to slow sockets only park a virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    // Sequence of the latest change; guarded by `this`
+    private long sequence;
+
+    public TaskChangeFeed(TaskMapper taskMapper,
+                          @Value("${tasks.changes.retained:10000}") int retained,
+                          @Value("${tasks.changes.subscriber-buffer:256}") int subscriberBuffer,
+                          @Value("${tasks.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.taskMapper = taskMapper;
+        this.ring = new TaskChangeDTO[retained];
+        this.ringBoards = new long[retained];
+        this.subscriberBuffer = subscriberBuffer;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    // Changes of the current board after `since`, oldest first; `limit` bounds the feed positions scanned.
+    // Without a cursor only the current cursor is returned: clients take it before loading the full list
+    // and poll from it afterwards
+    public synchronized TaskChangesDTO changesSince(String since, int limit) {
+        if (since == null || since.isBlank()) {
+            return new TaskChangesDTO(List.of(), cursorOf(sequence), false);
+        }
+        long from = sequenceOf(since);
+        if (!isRetained(from)) {
+            return new TaskChangesDTO(List.of(resetChange()), cursorOf(sequence), false);
+        }
+        long to = Math.min(sequence, from + limit);
+        return new TaskChangesDTO(range(from, to, BoardContext.current()), cursorOf(to), to < sequence);
+    }
+
+    // Open an SSE stream; with a cursor (query parameter or Last-Event-ID) the missed changes are replayed first
+    public SseEmitter subscribe(String since) {
+        TaskChangeSubscription subscription = new TaskChangeSubscription(new SseEmitter(streamTimeoutMillis),
+                BoardContext.current(), subscriberBuffer, senders, subscriptions::remove);
+        // Replay and registration happen under the publish lock, so no change is skipped or sent twice
+        synchronized (this) {
+            if (since == null || since.isBlank()) {
+                subscription.ready(cursorOf(sequence));
+            } else {
+                long from = sequenceOf(since);
+                if (isRetained(from) && sequence - from <= subscriberBuffer) {
+                    range(from, sequence, subscription.board()).forEach(subscription::offer);
+                } else {
+                    subscription.reset(cursorOf(sequence));
+                }
+            }
+            subscriptions.add(subscription);
+        }
+        return subscription.emitter();
+    }
+
+    @Override
+    public void tasksSaved(Collection<Task> tasks) {
+        List<TaskChangeDTO> changes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskResponseDTO dto = taskMapper.toResponseDto(task);
+            changes.add(change(TaskChangeDTO.Type.UPSERT, task.getId(), dto, null, null));
+        }
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> publish(board, changes));
+    }
+
+    // Ids that did not exist are published too; clients ignore changes for tasks they do not hold
+    @Override
+    public void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        List<TaskChangeDTO> changes = ids.stream()
+                .map(id -> change(TaskChangeDTO.Type.PATCH, id, null, status, priority))
+                .toList();
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> publish(board, changes));
+    }
+
+    @Override
+    public void tasksDeleted(Collection<Long> ids) {
+        List<TaskChangeDTO> changes = ids.stream()
+                .map(id -> change(TaskChangeDTO.Type.DELETE, id, null, null, null))
+                .toList();
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> publish(board, changes));
+    }
+
+    @Override
+    public void tasksDeletedByStatus(Task.TaskStatus status) {
+        TaskChangeDTO change = change(TaskChangeDTO.Type.DELETE_STATUS, null, null, status, null);
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> publish(board, List.of(change)));
+    }
+
+    @Override
+    public void allTasksDeleted() {
+        TaskChangeDTO change = change(TaskChangeDTO.Type.CLEAR, null, null, null, null);
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> publish(board, List.of(change)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(subscriptions).forEach(TaskChangeSubscription::complete);
+        senders.shutdown();
+    }
+
+    // Subscribers are offered changes under the lock so every stream sees the feed order;
+    // offering never blocks, slow clients are reset by their own subscription
+    private synchronized void publish(long board, List<TaskChangeDTO> changes) {
+        for (TaskChangeDTO change : changes) {
+            sequence++;
+            change.setCursor(cursorOf(sequence));
+            ring[slot(sequence)] = change;
+            ringBoards[slot(sequence)] = board;
+            for (TaskChangeSubscription subscription : subscriptions) {
+                if (subscription.board() == board) {
+                    subscription.offer(change);
+                }
+            }
+        }
+    }
+
+    // Changes of `board`; callers hold the lock; `from` is exclusive, `to` inclusive
+    private List<TaskChangeDTO> range(long from, long to, long board) {
+        List<TaskChangeDTO> changes = new ArrayList<>();
+        for (long next = from + 1; next <= to; next++) {
+            if (ringBoards[slot(next)] == board) {
+                changes.add(ring[slot(next)]);
+            }
+        }
+        return changes;
+    }
+
+    // Everything after `from` is still in the ring; -1 (foreign or malformed cursor) never is
+    private boolean isRetained(long from) {
+        return from >= 0 && from <= sequence && sequence - from <= ring.length;
+    }
+
+    private TaskChangeDTO resetChange() {
+        return new TaskChangeDTO(cursorOf(sequence), TaskChangeDTO.Type.RESET, null, null, null, null);
+    }
+
+    private int slot(long position) {
+        return (int) (position % ring.length);
+    }
+
+    private String cursorOf(long position) {
+        return feedId + "." + position;
+    }
+
+    private long sequenceOf(String cursor) {
+        int separator = cursor.indexOf('.');
+        if (separator < 0 || !cursor.substring(0, separator).equals(feedId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static TaskChangeDTO change(TaskChangeDTO.Type type, Long id, TaskResponseDTO task,
+                                        Task.TaskStatus status, Task.TaskPriority priority) {
+        return new TaskChangeDTO(null, type, id, task, status, priority);
+    }
+}
@@ -0,0 +1,120 @@
+package com.spring.fullstacktodo.feed;
+
+import com.spring.fullstacktodo.dto.TaskChangeDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// One SSE client. Changes are queued in a fixed-size buffer and written by a sender thread, so the
+// writer that publishes a change never waits for a socket. A client that lets its buffer fill up
+// gets a RESET event and is disconnected instead of growing the buffer.
+final class TaskChangeSubscription {
+    static final String CHANGE_EVENT = "change";
+    static final String READY_EVENT = "ready";
+
+    private final SseEmitter emitter;
+    // Only changes of this board are sent
+    private final long board;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor sender;
+    private final Consumer<TaskChangeSubscription> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile String resetCursor;
+    private volatile boolean closed;
+
+    TaskChangeSubscription(SseEmitter emitter, long board, int capacity, Executor sender, Consumer<TaskChangeSubscription> onClose) {
+        this.emitter = emitter;
+        this.board = board;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sender = sender;
+        this.onClose = onClose;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    long board() {
+        return board;
+    }
+
+    // First event of a stream opened without a cursor, so EventSource has a Last-Event-ID to resume from
+    void ready(String cursor) {
+        enqueue(SseEmitter.event().id(cursor).name(READY_EVENT).data(cursor), cursor);
+    }
+
+    void offer(TaskChangeDTO change) {
+        enqueue(SseEmitter.event().id(change.getCursor()).name(CHANGE_EVENT).data(change), change.getCursor());
+    }
+
+    // Drop whatever is buffered and tell the client to reload from `cursor` on
+    void reset(String cursor) {
+        if (resetCursor == null) {
+            resetCursor = cursor;
+        }
+        queue.clear();
+        schedule();
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            queue.clear();
+            onClose.accept(this);
+        }
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    // Never blocks: the caller holds the feed lock
+    private void enqueue(SseEmitter.SseEventBuilder event, String cursor) {
+        if (closed || resetCursor != null) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            reset(cursor);
+            return;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && resetCursor == null && (event = queue.poll()) != null) {
+                emitter.send(event);
+            }
+            if (!closed && resetCursor != null) {
+                emitter.send(SseEmitter.event().id(resetCursor).name(CHANGE_EVENT)
+                        .data(new TaskChangeDTO(resetCursor, TaskChangeDTO.Type.RESET, null, null, null, null)));
+                complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter already completed)
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // Pick up events offered between the last poll and releasing the flag
+        if (!closed && (!queue.isEmpty() || resetCursor != null)) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package com.spring.fullstacktodo.index;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.service.TaskChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Optional in-process, column-oriented copy of the task table (tasks.index.enabled) that answers the
+// unpaginated list endpoints (by status for the kanban columns, by priority, ordered) without a query.
+// Every column is a primitive array: ids, boards, one byte per task for status and priority ordinals, timestamps
+// as epoch micros and the version; titles and descriptions are UTF-8 in a direct (off-heap) buffer.
+// A query filters and sorts row numbers in an int[] and copies the hits into TaskRows, so it creates
+// no object per task. Holds every board; each board keeps the list of its row numbers, so a query only
+// visits the rows of the current one.
+// Rebuilt from TaskRepo at startup and kept in sync by TaskService writes.
+// tasks.index.rows and tasks.index.memory{area=heap|off-heap} report its size. Ordered first so a commit
+// updates it before the list caches are evicted and refilled from it.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskColumnIndex implements TaskChangeListener {
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_ARENA_BYTES = 64 * 1024;
+
+    private final TaskRepo taskRepo;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Row r of every column is one task; rows stay dense (a delete moves the last row into the gap)
+    private int size;
+    private long[] ids = new long[INITIAL_ROWS];
+    private long[] boards = new long[INITIAL_ROWS];
+    // status ordinal << 4 | priority ordinal
+    private byte[] states = new byte[INITIAL_ROWS];
+    private long[] createdAt = new long[INITIAL_ROWS];
+    private long[] updatedAt = new long[INITIAL_ROWS];
+    private long[] versions = new long[INITIAL_ROWS];
+    private int[] titleOffsets = new int[INITIAL_ROWS];
+    private int[] titleLengths = new int[INITIAL_ROWS];
+    private int[] descriptionOffsets = new int[INITIAL_ROWS];
+    // -1 for a null description
+    private int[] descriptionLengths = new int[INITIAL_ROWS];
+    private final LongIntMap rowById = new LongIntMap(INITIAL_ROWS);
+    // Row numbers of each board's tasks, and the position of every row in its board's list
+    private final Map<Long, BoardRows> rowsByBoard = new HashMap<>();
+    private int[] boardPositions = new int[INITIAL_ROWS];
+
+    // Text is appended; replaced or deleted text stays as garbage until it outweighs the live text
+    private ByteBuffer arena = ByteBuffer.allocateDirect(INITIAL_ARENA_BYTES);
+    private int arenaUsed;
+    private int arenaGarbage;
+
+    // Heap (columns and id map) and off-heap (text arena) bytes held by the index
+    public record Footprint(int rows, long heapBytes, long offHeapBytes) {
+    }
+
+    // One task's values, taken when the change is reported and applied once it has committed
+    private record Row(long id, long board, byte[] title, byte[] description, byte state, long createdAt, long updatedAt, long version) {
+    }
+
+    // Unordered row numbers of one board; a removal moves the last entry into the gap
+    private static final class BoardRows {
+        private int[] rows = new int[16];
+        private int size;
+    }
+
+    // Compares two row numbers; built per query from the requested Sort
+    @FunctionalInterface
+    private interface RowOrder {
+        int compare(int a, int b);
+    }
+
+    public TaskColumnIndex(TaskRepo taskRepo, MeterRegistry meterRegistry, @Value("${tasks.index.enabled:false}") boolean enabled) {
+        this.taskRepo = taskRepo;
+        this.enabled = enabled;
+        if (enabled) {
+            Gauge.builder("tasks.index.rows", this, index -> index.footprint().rows()).register(meterRegistry);
+            Gauge.builder("tasks.index.memory", this, index -> index.footprint().heapBytes())
+                    .tag("area", "heap").baseUnit("bytes").register(meterRegistry);
+            Gauge.builder("tasks.index.memory", this, index -> index.footprint().offHeapBytes())
+                    .tag("area", "off-heap").baseUnit("bytes").register(meterRegistry);
+        }
+    }
+
+    // Whether queries can be answered (enabled and loaded)
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Load the tasks of every board in keyset pages of entities (which carry the board); reads use the
+    // database until this has finished
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clear();
+            BoardContext.acrossBoards(() -> {
+                KeysetScrollPosition position = ScrollPosition.keyset();
+                Window<Task> window;
+                do {
+                    window = taskRepo.findAllBy(position, Limit.of(REBUILD_PAGE_SIZE), Sort.by("id"));
+                    window.forEach(task -> upsert(row(task)));
+                    if (!window.isEmpty()) {
+                        position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+                    }
+                } while (window.hasNext());
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tasks of the current board with the given status and/or priority (null for any) in `sort` order, or
+    // null when the sort uses a property the index does not keep. `summary` selects the TaskSummaryDTO fields
+    public <T> List<T> query(Task.TaskStatus status, Task.TaskPriority priority, Sort sort, boolean summary) {
+        long board = BoardContext.current();
+        lock.readLock().lock();
+        try {
+            RowOrder order = order(sort);
+            if (order == null) {
+                return null;
+            }
+            BoardRows boardRows = rowsByBoard.get(board);
+            if (boardRows == null) {
+                return copy(new int[0], 0, summary);
+            }
+            int[] rows = new int[boardRows.size];
+            int count = 0;
+            for (int i = 0; i < boardRows.size; i++) {
+                int row = boardRows.rows[i];
+                if ((status == null || states[row] >>> 4 == status.ordinal())
+                        && (priority == null || (states[row] & 0x0F) == priority.ordinal())) {
+                    rows[count++] = row;
+                }
+            }
+            sort(rows, count, order);
+            return copy(rows, count, summary);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            long heap = (long) ids.length * (Long.BYTES * 5 + 1 + Integer.BYTES * 5) + rowById.bytes();
+            for (BoardRows boardRows : rowsByBoard.values()) {
+                heap += (long) boardRows.rows.length * Integer.BYTES;
+            }
+            return new Footprint(size, heap, arena.capacity());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void tasksSaved(Collection<Task> tasks) {
+        if (!enabled) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            rows.add(row(task));
+        }
+        TaskChangeListener.afterCommit(() -> write(() -> rows.forEach(this::upsert)));
+    }
+
+    @Override
+    public void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> copy = List.copyOf(ids);
+        long updated = TaskRows.toMicros(updatedAt);
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            for (Long id : copy) {
+                int row = rowById.get(id);
+                if (row < 0) {
+                    continue;
+                }
+                int statusOrdinal = status != null ? status.ordinal() : states[row] >>> 4;
+                int priorityOrdinal = priority != null ? priority.ordinal() : states[row] & 0x0F;
+                states[row] = (byte) (statusOrdinal << 4 | priorityOrdinal);
+                this.updatedAt[row] = updated;
+                versions[row]++;
+            }
+        }));
+    }
+
+    @Override
+    public void tasksDeleted(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> copy = List.copyOf(ids);
+        TaskChangeListener.afterCommit(() -> write(() -> copy.forEach(id -> {
+            int row = rowById.get(id);
+            if (row >= 0) {
+                remove(row);
+            }
+        })));
+    }
+
+    @Override
+    public void tasksDeletedByStatus(Task.TaskStatus status) {
+        if (!enabled) {
+            return;
+        }
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            for (int row = size - 1; row >= 0; row--) {
+                if (boards[row] == board && states[row] >>> 4 == status.ordinal()) {
+                    remove(row);
+                }
+            }
+        }));
+    }
+
+    @Override
+    public void allTasksDeleted() {
+        if (!enabled) {
+            return;
+        }
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            for (int row = size - 1; row >= 0; row--) {
+                if (boards[row] == board) {
+                    remove(row);
+                }
+            }
+        }));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Tasks built outside a session (benchmarks) have no board yet and count as the default board
+    private static Row row(Task task) {
+        String description = task.getDescription();
+        return new Row(task.getId(), task.getBoardId() != null ? task.getBoardId() : BoardContext.DEFAULT_BOARD,
+                task.getTitle().getBytes(StandardCharsets.UTF_8),
+                description == null ? null : description.getBytes(StandardCharsets.UTF_8),
+                (byte) (task.getStatus().ordinal() << 4 | task.getPriority().ordinal()),
+                TaskRows.toMicros(task.getCreatedAt()), TaskRows.toMicros(task.getUpdatedAt()),
+                task.getVersion() == null ? 0 : task.getVersion());
+    }
+
+    // Callers hold the write lock
+    private void upsert(Row task) {
+        // The text goes in before the row points at it: the append may compact the arena, which
+        // relocates the text of every row through its current offsets and lengths
+        int offset = append(task.title(), task.description());
+        int row = rowById.get(task.id());
+        if (row < 0) {
+            row = size;
+            ensureRows(size + 1);
+            size++;
+            ids[row] = task.id();
+            boards[row] = task.board();
+            rowById.put(task.id(), row);
+            addToBoard(row);
+        } else {
+            arenaGarbage += textLength(row);
+        }
+        states[row] = task.state();
+        createdAt[row] = task.createdAt();
+        updatedAt[row] = task.updatedAt();
+        versions[row] = task.version();
+        titleOffsets[row] = offset;
+        titleLengths[row] = task.title().length;
+        if (task.description() == null) {
+            descriptionOffsets[row] = 0;
+            descriptionLengths[row] = -1;
+        } else {
+            descriptionOffsets[row] = offset + task.title().length;
+            descriptionLengths[row] = task.description().length;
+        }
+    }
+
+    // Callers hold the write lock
+    private void addToBoard(int row) {
+        BoardRows boardRows = rowsByBoard.computeIfAbsent(boards[row], board -> new BoardRows());
+        if (boardRows.size == boardRows.rows.length) {
+            boardRows.rows = Arrays.copyOf(boardRows.rows, boardRows.size * 2);
+        }
+        boardPositions[row] = boardRows.size;
+        boardRows.rows[boardRows.size++] = row;
+    }
+
+    // Callers hold the write lock
+    private void removeFromBoard(int row) {
+        BoardRows boardRows = rowsByBoard.get(boards[row]);
+        int moved = boardRows.rows[--boardRows.size];
+        boardRows.rows[boardPositions[row]] = moved;
+        boardPositions[moved] = boardPositions[row];
+        if (boardRows.size == 0) {
+            rowsByBoard.remove(boards[row]);
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(int row) {
+        arenaGarbage += textLength(row);
+        rowById.remove(ids[row]);
+        removeFromBoard(row);
+        int last = size - 1;
+        if (row != last) {
+            // The last row moves into the gap, so its board's list follows it
+            rowsByBoard.get(boards[last]).rows[boardPositions[last]] = row;
+            boardPositions[row] = boardPositions[last];
+            ids[row] = ids[last];
+            boards[row] = boards[last];
+            states[row] = states[last];
+            createdAt[row] = createdAt[last];
+            updatedAt[row] = updatedAt[last];
+            versions[row] = versions[last];
+            titleOffsets[row] = titleOffsets[last];
+            titleLengths[row] = titleLengths[last];
+            descriptionOffsets[row] = descriptionOffsets[last];
+            descriptionLengths[row] = descriptionLengths[last];
+            rowById.put(ids[row], row);
+        }
+        size--;
+    }
+
+    private void clear() {
+        size = 0;
+        rowById.clear();
+        rowsByBoard.clear();
+        arenaUsed = 0;
+        arenaGarbage = 0;
+    }
+
+    private int textLength(int row) {
+        return titleLengths[row] + Math.max(0, descriptionLengths[row]);
+    }
+
+    private void ensureRows(int rows) {
+        if (rows <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(rows, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        boards = Arrays.copyOf(boards, capacity);
+        states = Arrays.copyOf(states, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+        titleLengths = Arrays.copyOf(titleLengths, capacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+        boardPositions = Arrays.copyOf(boardPositions, capacity);
+    }
+
+    // Offset of the title in the arena after appending it and the description (if any) right behind it
+    private int append(byte[] title, byte[] description) {
+        int length = title.length + (description == null ? 0 : description.length);
+        if (arenaUsed + length > arena.capacity()) {
+            if (arenaGarbage > arenaUsed / 2) {
+                compact(length);
+            } else {
+                arena = copyInto(ByteBuffer.allocateDirect(Math.max(arena.capacity() * 2, arenaUsed + length)));
+            }
+        }
+        int offset = arenaUsed;
+        arena.put(offset, title);
+        if (description != null) {
+            arena.put(offset + title.length, description);
+        }
+        arenaUsed += length;
+        return offset;
+    }
+
+    private ByteBuffer copyInto(ByteBuffer target) {
+        target.put(0, arena, 0, arenaUsed);
+        return target;
+    }
+
+    // Copy only live text into a fresh arena, leaving room for `incoming` more bytes
+    private void compact(int incoming) {
+        int live = arenaUsed - arenaGarbage;
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(arena.capacity(), (live + incoming) * 2));
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            compacted.put(used, arena, titleOffsets[row], titleLengths[row]);
+            titleOffsets[row] = used;
+            used += titleLengths[row];
+            if (descriptionLengths[row] >= 0) {
+                compacted.put(used, arena, descriptionOffsets[row], descriptionLengths[row]);
+                descriptionOffsets[row] = used;
+                used += descriptionLengths[row];
+            }
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    // Comparator chain for the Sort, null if it names a property the index does not keep
+    private RowOrder order(Sort sort) {
+        RowOrder order = (a, b) -> 0;
+        for (Sort.Order property : sort) {
+            RowOrder key = switch (property.getProperty()) {
+                case "id" -> (a, b) -> Long.compare(ids[a], ids[b]);
+                case "createdAt" -> (a, b) -> Long.compare(createdAt[a], createdAt[b]);
+                case "updatedAt" -> (a, b) -> Long.compare(updatedAt[a], updatedAt[b]);
+                case "priorityRank" -> (a, b) -> Integer.compare(states[a] & 0x0F, states[b] & 0x0F);
+                default -> null;
+            };
+            if (key == null) {
+                return null;
+            }
+            RowOrder previous = order;
+            RowOrder directed = property.isAscending() ? key : (a, b) -> key.compare(b, a);
+            order = (a, b) -> {
+                int result = previous.compare(a, b);
+                return result != 0 ? result : directed.compare(a, b);
+            };
+        }
+        return order;
+    }
+
+    // Bottom-up merge sort of the first `count` row numbers
+    private static void sort(int[] rows, int count, RowOrder order) {
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, count);
+                System.arraycopy(rows, low, buffer, low, high - low);
+                int left = low;
+                int right = middle;
+                for (int out = low; out < high; out++) {
+                    if (right >= high || (left < middle && order.compare(buffer[left], buffer[right]) <= 0)) {
+                        rows[out] = buffer[left++];
+                    } else {
+                        rows[out] = buffer[right++];
+                    }
+                }
+            }
+        }
+    }
+
+    // Callers hold the read lock
+    private <T> TaskRows<T> copy(int[] rows, int count, boolean summary) {
+        long[] rowIds = new long[count];
+        byte[] rowStates = new byte[count];
+        long[] rowCreatedAt = new long[count];
+        long[] rowUpdatedAt = new long[count];
+        long[] rowVersions = new long[count];
+        int[] rowTitleOffsets = new int[count];
+        int[] rowTitleLengths = new int[count];
+        int[] rowDescriptionOffsets = new int[count];
+        int[] rowDescriptionLengths = new int[count];
+        int textBytes = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            textBytes += summary ? titleLengths[row] : textLength(row);
+        }
+        byte[] text = new byte[textBytes];
+        int used = 0;
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            rowIds[i] = ids[row];
+            rowStates[i] = states[row];
+            rowCreatedAt[i] = createdAt[row];
+            rowUpdatedAt[i] = updatedAt[row];
+            rowVersions[i] = versions[row];
+            arena.get(titleOffsets[row], text, used, titleLengths[row]);
+            rowTitleOffsets[i] = used;
+            rowTitleLengths[i] = titleLengths[row];
+            used += titleLengths[row];
+            if (summary || descriptionLengths[row] < 0) {
+                rowDescriptionLengths[i] = -1;
+            } else {
+                arena.get(descriptionOffsets[row], text, used, descriptionLengths[row]);
+                rowDescriptionOffsets[i] = used;
+                rowDescriptionLengths[i] = descriptionLengths[row];
+                used += descriptionLengths[row];
+            }
+        }
+        return new TaskRows<>(summary, count, rowIds, rowStates, rowCreatedAt, rowUpdatedAt, rowVersions,
+                text, rowTitleOffsets, rowTitleLengths, rowDescriptionOffsets, rowDescriptionLengths);
+    }
+}
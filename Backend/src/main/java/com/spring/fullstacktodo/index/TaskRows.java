@@ -0,0 +1,92 @@
+package com.spring.fullstacktodo.index;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskSummaryDTO;
+import com.spring.fullstacktodo.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+
+// Result of a TaskColumnIndex query: the selected rows copied out column by column, so later index
+// writes do not show through. On the wire it is written field by field from these arrays
+// (TaskRowsSerializer); get() builds a DTO only for Java callers that ask for one.
+@JsonSerialize(using = TaskRowsSerializer.class)
+public final class TaskRows<T> extends AbstractList<T> {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+    // Stands for a null timestamp
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    final boolean summary;
+    final int size;
+    final long[] ids;
+    // status ordinal << 4 | priority ordinal
+    final byte[] states;
+    final long[] createdAt;
+    final long[] updatedAt;
+    final long[] versions;
+    // UTF-8 titles and descriptions of all rows; a length of -1 is a null description
+    final byte[] text;
+    final int[] titleOffsets;
+    final int[] titleLengths;
+    final int[] descriptionOffsets;
+    final int[] descriptionLengths;
+
+    TaskRows(boolean summary, int size, long[] ids, byte[] states, long[] createdAt, long[] updatedAt, long[] versions,
+             byte[] text, int[] titleOffsets, int[] titleLengths, int[] descriptionOffsets, int[] descriptionLengths) {
+        this.summary = summary;
+        this.size = size;
+        this.ids = ids;
+        this.states = states;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.versions = versions;
+        this.text = text;
+        this.titleOffsets = titleOffsets;
+        this.titleLengths = titleLengths;
+        this.descriptionOffsets = descriptionOffsets;
+        this.descriptionLengths = descriptionLengths;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        String title = new String(text, titleOffsets[index], titleLengths[index], StandardCharsets.UTF_8);
+        if (summary) {
+            return (T) new TaskSummaryDTO(ids[index], title, status(index), priority(index), toDateTime(updatedAt[index]));
+        }
+        String description = descriptionLengths[index] < 0 ? null
+                : new String(text, descriptionOffsets[index], descriptionLengths[index], StandardCharsets.UTF_8);
+        return (T) new TaskResponseDTO(ids[index], title, description, status(index), priority(index),
+                toDateTime(createdAt[index]), toDateTime(updatedAt[index]), versions[index]);
+    }
+
+    Task.TaskStatus status(int index) {
+        return STATUSES[states[index] >>> 4];
+    }
+
+    Task.TaskPriority priority(int index) {
+        return PRIORITIES[states[index] & 0x0F];
+    }
+
+    // Timestamps are kept as epoch microseconds of the LocalDateTime read as UTC, the column's precision
+    static long toMicros(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000;
+    }
+
+    static LocalDateTime toDateTime(long micros) {
+        return micros == NO_TIME ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,145 @@
+package com.spring.fullstacktodo.index;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.WriterBasedJsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// Writes TaskRows with the same fields, order and formats as a list of TaskResponseDTO / TaskSummaryDTO.
+// Titles and descriptions go out as the stored UTF-8 bytes and default ISO timestamps are formatted from
+// the micros into one reused buffer; enums and other timestamp formats use the mapper's own serializers,
+// so JSON and CBOR keep their settings (names vs ordinals, ISO strings vs epoch millis)
+class TaskRowsSerializer extends StdSerializer<TaskRows<?>> {
+    // yyyy-MM-ddTHH:mm:ss.SSSSSS
+    private static final int ISO_TIME_LENGTH = 26;
+
+    @SuppressWarnings("unchecked")
+    TaskRowsSerializer() {
+        super((Class<TaskRows<?>>) (Class<?>) TaskRows.class);
+    }
+
+    @Override
+    public void serialize(TaskRows<?> rows, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        JsonSerializer<Object> statusSerializer = provider.findValueSerializer(Task.TaskStatus.class);
+        JsonSerializer<Object> prioritySerializer = provider.findValueSerializer(Task.TaskPriority.class);
+        JsonSerializer<Object> timeSerializer = provider.findValueSerializer(LocalDateTime.class);
+        // The stock ISO-8601 form is written straight from the micros; anything else goes through the serializer
+        char[] isoTime = (Object) timeSerializer == LocalDateTimeSerializer.INSTANCE
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) ? new char[ISO_TIME_LENGTH] : null;
+        boolean writeNulls = provider.getConfig().getDefaultPropertyInclusion(TaskResponseDTO.class)
+                .getValueInclusion() != JsonInclude.Include.NON_NULL;
+
+        generator.writeStartArray(rows, rows.size);
+        for (int i = 0; i < rows.size; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rows.ids[i]);
+            generator.writeFieldName("title");
+            writeText(generator, rows.text, rows.titleOffsets[i], rows.titleLengths[i]);
+            if (!rows.summary) {
+                if (rows.descriptionLengths[i] >= 0) {
+                    generator.writeFieldName("description");
+                    writeText(generator, rows.text, rows.descriptionOffsets[i], rows.descriptionLengths[i]);
+                } else if (writeNulls) {
+                    generator.writeNullField("description");
+                }
+            }
+            generator.writeFieldName("status");
+            statusSerializer.serialize(rows.status(i), generator, provider);
+            generator.writeFieldName("priority");
+            prioritySerializer.serialize(rows.priority(i), generator, provider);
+            if (!rows.summary) {
+                writeTime(generator, provider, timeSerializer, isoTime, writeNulls, "createdAt", rows.createdAt[i]);
+            }
+            writeTime(generator, provider, timeSerializer, isoTime, writeNulls, "updatedAt", rows.updatedAt[i]);
+            if (!rows.summary) {
+                generator.writeNumberField("version", rows.versions[i]);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    // Byte-stream generators (HTTP bodies, CBOR) copy the UTF-8 as is; character writers need a String
+    private static void writeText(JsonGenerator generator, byte[] text, int offset, int length) throws IOException {
+        if (generator instanceof WriterBasedJsonGenerator) {
+            generator.writeString(new String(text, offset, length, StandardCharsets.UTF_8));
+        } else {
+            generator.writeUTF8String(text, offset, length);
+        }
+    }
+
+    private static void writeTime(JsonGenerator generator, SerializerProvider provider, JsonSerializer<Object> timeSerializer,
+                                  char[] isoTime, boolean writeNulls, String name, long micros) throws IOException {
+        if (micros == TaskRows.NO_TIME) {
+            if (writeNulls) {
+                generator.writeNullField(name);
+            }
+            return;
+        }
+        generator.writeFieldName(name);
+        int length = isoTime == null ? -1 : formatIso(micros, isoTime);
+        if (length > 0) {
+            generator.writeString(isoTime, 0, length);
+        } else {
+            timeSerializer.serialize(TaskRows.toDateTime(micros), generator, provider);
+        }
+    }
+
+    // DateTimeFormatter.ISO_LOCAL_DATE_TIME output (seconds always, fraction without trailing zeros) for
+    // years 0-9999, or -1 outside of them. Civil date from the epoch day as in Hinnant's days_from_civil inverse
+    static int formatIso(long micros, char[] out) {
+        long seconds = Math.floorDiv(micros, 1_000_000L);
+        int fraction = (int) Math.floorMod(micros, 1_000_000L);
+        long days = Math.floorDiv(seconds, 86_400L) + 719_468;
+        int secondOfDay = (int) Math.floorMod(seconds, 86_400L);
+        long era = Math.floorDiv(days, 146_097);
+        int dayOfEra = (int) (days - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        digits(out, 0, (int) year, 4);
+        out[4] = '-';
+        digits(out, 5, month, 2);
+        out[7] = '-';
+        digits(out, 8, day, 2);
+        out[10] = 'T';
+        digits(out, 11, secondOfDay / 3600, 2);
+        out[13] = ':';
+        digits(out, 14, secondOfDay / 60 % 60, 2);
+        out[16] = ':';
+        digits(out, 17, secondOfDay % 60, 2);
+        if (fraction == 0) {
+            return 19;
+        }
+        out[19] = '.';
+        digits(out, 20, fraction, 6);
+        int length = ISO_TIME_LENGTH;
+        while (out[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private static void digits(char[] out, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
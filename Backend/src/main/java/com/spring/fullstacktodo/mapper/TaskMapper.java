@@ -1,28 +1,49 @@
 package com.spring.fullstacktodo.mapper;
 
+import com.spring.fullstacktodo.dto.TaskBatchUpdateDTO;
 import com.spring.fullstacktodo.dto.TaskRequestDTO;
 import com.spring.fullstacktodo.dto.TaskResponseDTO;
 import com.spring.fullstacktodo.model.Task;
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 import java.util.List;
 
+// The generated bean is timed as tasks.mapper; calls between its own methods are not counted
 @Mapper(componentModel = "spring")
+@AnnotateWith(value = Timed.class, elements = @AnnotateWith.Element(strings = "tasks.mapper"))
 public interface TaskMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "boardId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toEntity(TaskRequestDTO dto);
 
+    List<Task> toEntityList(List<TaskRequestDTO> dtos);
+
     TaskResponseDTO toResponseDto(Task entity);
 
     List<TaskResponseDTO> toResponseDtoList(List<Task> entities);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "boardId", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntityFromDto(TaskRequestDTO dto, @MappingTarget Task entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "boardId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "priorityRank", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntityFromDto(TaskBatchUpdateDTO dto, @MappingTarget Task entity);
 }
@@ -0,0 +1,68 @@
+package com.spring.fullstacktodo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Rows returned (or, for @Modifying queries, affected) per repository method call, recorded as
+// tasks.repository.rows. Timing per method comes from Spring Boot's spring.data.repository.invocations.
+public class RepositoryRowsInterceptor implements MethodInterceptor {
+    private final MeterRegistry meterRegistry;
+    private final String repository;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public RepositoryRowsInterceptor(MeterRegistry meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        long rows = rows(result);
+        if (rows >= 0) {
+            summaries.computeIfAbsent(invocation.getMethod(), this::summary).record(rows);
+        }
+        return result;
+    }
+
+    private DistributionSummary summary(Method method) {
+        return DistributionSummary.builder("tasks.repository.rows")
+                .description("Rows returned or affected by one repository call")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .register(meterRegistry);
+    }
+
+    // -1 when the result is not a row count (void, exists, count queries)
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer affected) {
+            return affected;
+        }
+        if (result == null || result instanceof Long || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
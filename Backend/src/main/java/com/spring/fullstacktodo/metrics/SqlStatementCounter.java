@@ -0,0 +1,32 @@
+package com.spring.fullstacktodo.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+// Registered as Hibernate's statement inspector (see MetricsConfig); the SQL itself is left untouched.
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    // Start counting on this thread
+    public void begin() {
+        current.set(new int[1]);
+    }
+
+    // Stop counting on this thread and return the number of statements since begin()
+    public int end() {
+        int[] count = current.get();
+        current.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,56 @@
+package com.spring.fullstacktodo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Records how many SQL statements each request ran (tasks.request.statements, by method and route)
+// and logs the requests above tasks.metrics.statements-warn-threshold, so an N+1 or a doubled query
+// shows up as soon as it ships
+@Slf4j
+@Component
+public class StatementsPerRequestFilter extends OncePerRequestFilter {
+    private final SqlStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public StatementsPerRequestFilter(SqlStatementCounter statementCounter, MeterRegistry meterRegistry,
+                                      @Value("${tasks.metrics.statements-warn-threshold:10}") int warnThreshold) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.end();
+            // The route pattern, not the raw path, so task ids do not explode the tag values
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("tasks.request.statements")
+                    .description("SQL statements prepared while handling one request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements (threshold {})", request.getMethod(), uri, statements, warnThreshold);
+            }
+        }
+    }
+}
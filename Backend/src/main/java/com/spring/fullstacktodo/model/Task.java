@@ -5,8 +5,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Data
 @Table(name = "tasks")
@@ -15,10 +18,21 @@ import java.time.LocalDateTime;
 @Entity
 public class Task {
 
+    // Sequence ids (fetched 50 at a time) keep JDBC insert batching possible, IDENTITY disables it
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
+    // Board (tenant) the task belongs to, and the partition key of the table (V6 migration). Filled from
+    // BoardContext on insert; Hibernate restricts every query to the current board (BoardTenantResolver).
+    // @TenantId only covers queries; @PartitionKey adds board_id to entity UPDATEs and DELETEs too, so
+    // they are pruned to the board's partition instead of probing every one by id
+    @TenantId
+    @PartitionKey
+    @Column(name = "board_id", nullable = false, updatable = false)
+    private Long boardId;
+
     @Column(nullable = false)
     private String title;
 
@@ -33,12 +47,23 @@ public class Task {
     @Column(nullable = false)
     private TaskPriority priority = TaskPriority.MEDIUM;
 
+    // Numeric copy of the priority so ORDER BY and indexes follow LOW < MEDIUM < HIGH < URGENT
+    // instead of the alphabetical order of the enum names
+    @Column(name = "priority_rank", nullable = false)
+    private Short priorityRank = TaskPriority.MEDIUM.rank();
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: Hibernate adds "AND version = ?" to every entity UPDATE and bumps it, so a write
+    // based on a stale read fails instead of silently overwriting. Bulk UPDATEs in TaskRepo bump it themselves
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Enums for Status and Priority
     public enum TaskStatus {
         TODO,
@@ -50,19 +75,35 @@ public class Task {
         LOW,
         MEDIUM,
         HIGH,
-        URGENT
+        URGENT;
+
+        // Declaration order is the urgency order
+        public short rank() {
+            return (short) ordinal();
+        }
+    }
+
+    // The database keeps microseconds; truncating here keeps in-memory copies (and ETags) equal to the stored value
+    public static LocalDateTime currentTimestamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
-    // Set timestamps before persisting
+    // Set timestamps before persisting; imports bring their own
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = currentTimestamp();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+        priorityRank = priority.rank();
     }
 
     // Update timestamp before updating
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = currentTimestamp();
+        priorityRank = priority.rank();
     }
 }
@@ -0,0 +1,26 @@
+package com.spring.fullstacktodo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Change counter of one board's tasks (V7 migration). Only written by the upsert in TaskWriteRepository;
+// mapped so the schema is validated like the tasks table
+@Data
+@Table(name = "task_board_versions")
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class TaskBoardVersion {
+
+    @Id
+    @Column(name = "board_id")
+    private Long boardId;
+
+    @Column(nullable = false)
+    private Long version;
+}
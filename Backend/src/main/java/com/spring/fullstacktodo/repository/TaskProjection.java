@@ -0,0 +1,50 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskSummaryDTO;
+import com.spring.fullstacktodo.exception.InvalidTaskQueryException;
+import com.spring.fullstacktodo.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Task columns read straight into a DTO: the rows never become entities, so there is no
+// persistence-context entry, no dirty-checking snapshot and no second copy through TaskMapper.
+// `reader` gets the selected values in the order of `attributes`.
+public record TaskProjection<T>(List<String> attributes, Function<Object[], T> reader) {
+
+    // Every field of the API representation
+    public static final TaskProjection<TaskResponseDTO> RESPONSE = new TaskProjection<>(
+            List.of("id", "title", "description", "status", "priority", "createdAt", "updatedAt", "version"),
+            row -> new TaskResponseDTO((Long) row[0], (String) row[1], (String) row[2], (Task.TaskStatus) row[3],
+                    (Task.TaskPriority) row[4], (LocalDateTime) row[5], (LocalDateTime) row[6], (Long) row[7]));
+
+    // List/board view without the (up to 1000 character) description
+    public static final TaskProjection<TaskSummaryDTO> SUMMARY = new TaskProjection<>(
+            List.of("id", "title", "status", "priority", "updatedAt"),
+            row -> new TaskSummaryDTO((Long) row[0], (String) row[1], (Task.TaskStatus) row[2],
+                    (Task.TaskPriority) row[3], (LocalDateTime) row[4]));
+
+    // Sparse fieldset: only the requested fields of the API representation, in the requested order
+    public static TaskProjection<Map<String, Object>> ofFields(List<String> fields) {
+        List<String> attributes = List.copyOf(fields.stream().map(String::trim)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        for (String attribute : attributes) {
+            if (!RESPONSE.attributes().contains(attribute)) {
+                throw new InvalidTaskQueryException("Unknown field: " + attribute);
+            }
+        }
+        return new TaskProjection<>(attributes, row -> {
+            Map<String, Object> task = new LinkedHashMap<>();
+            for (int i = 0; i < attributes.size(); i++) {
+                task.put(attributes.get(i), row[i]);
+            }
+            return task;
+        });
+    }
+}
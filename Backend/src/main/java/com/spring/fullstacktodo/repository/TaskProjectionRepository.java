@@ -0,0 +1,18 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.model.Task;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+// Read path for list endpoints. Spring Data cannot scroll derived queries into class-based DTOs,
+// so this fragment builds the keyset query itself (see TaskProjectionRepositoryImpl).
+public interface TaskProjectionRepository {
+
+    // Tasks matching `filter` (null for all) after `position`, in `sort` order.
+    // An unlimited `limit` returns every match in a single window.
+    <T> Window<T> findProjected(TaskProjection<T> projection, Specification<Task> filter,
+                                KeysetScrollPosition position, Limit limit, Sort sort);
+}
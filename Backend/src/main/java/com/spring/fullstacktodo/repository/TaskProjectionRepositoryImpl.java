@@ -0,0 +1,95 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Transactional(readOnly = true)
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <T> Window<T> findProjected(TaskProjection<T> projection, Specification<Task> filter,
+                                       KeysetScrollPosition position, Limit limit, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Task> task = query.from(Task.class);
+
+        // The projected columns, then the sort keys the next cursor is built from
+        List<Selection<?>> selections = new ArrayList<>();
+        projection.attributes().forEach(attribute -> selections.add(task.get(attribute)));
+        List<String> keys = sort.stream().map(Sort.Order::getProperty).toList();
+        keys.forEach(key -> selections.add(task.get(key)));
+        query.multiselect(selections);
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filterPredicate = filter != null ? filter.toPredicate(task, query, cb) : null;
+        if (filterPredicate != null) {
+            where.add(filterPredicate);
+        }
+        if (!position.isInitial()) {
+            where.add(after(cb, task, sort, position.getKeys()));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            // One extra row tells whether there is a next page
+            typedQuery.setMaxResults(limit.max() + 1);
+        }
+        List<Object[]> rows = typedQuery.getResultList();
+        boolean hasNext = limit.isLimited() && rows.size() > limit.max();
+        List<Object[]> page = hasNext ? rows.subList(0, limit.max()) : rows;
+
+        List<T> content = new ArrayList<>(page.size());
+        page.forEach(row -> content.add(projection.reader().apply(row)));
+        int keyOffset = projection.attributes().size();
+        return Window.from(content, index -> {
+            Object[] row = page.get(index);
+            Map<String, Object> keyValues = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                keyValues.put(keys.get(i), row[keyOffset + i]);
+            }
+            return ScrollPosition.forward(keyValues);
+        }, hasNext);
+    }
+
+    // Rows strictly after the position in sort order: (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder cb, Root<Task> task, Sort sort, Map<String, Object> keys) {
+        List<Predicate> branches = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = task.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            List<Predicate> branch = new ArrayList<>(equalSoFar);
+            branch.add(order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+            branches.add(cb.and(branch.toArray(Predicate[]::new)));
+            equalSoFar.add(cb.equal(path, value));
+        }
+        return cb.or(branches.toArray(Predicate[]::new));
+    }
+}
@@ -1,24 +1,70 @@
 package com.spring.fullstacktodo.repository;
 
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
 import com.spring.fullstacktodo.model.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepo extends JpaRepository<Task, Long> {
+// List reads go through findProjected (TaskProjectionRepository) and never load entities; transitions and
+// deletes that report what they replaced go through TaskWriteRepository
+public interface TaskRepo extends JpaRepository<Task, Long>, TaskProjectionRepository, TaskWriteRepository {
 
 
-    List<Task> findByPriority(Task.TaskPriority priority);
+    // Keyset window of entities (used to rebuild the in-memory search index)
+    Window<Task> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 
-    List<Task> findByStatus(Task.TaskStatus status);
+    // One task read straight into its API representation
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.spring.fullstacktodo.dto.TaskResponseDTO(t.id, t.title, t.description, t.status, t.priority, " +
+            "t.createdAt, t.updatedAt, t.version) FROM Task t WHERE t.id = :id")
+    Optional<TaskResponseDTO> findResponseById(Long id);
 
-    List<Task> findByStatusAndPriority(Task.TaskStatus status, Task.TaskPriority priority);
+    // Task counts for every (status, priority) pair in one grouped query
+    @Query("SELECT new com.spring.fullstacktodo.dto.TaskCountDTO(t.status, t.priority, COUNT(t)) " +
+            "FROM Task t GROUP BY t.status, t.priority")
+    List<TaskCountDTO> countByStatusAndPriority();
 
-    List<Task> findByTitleContainingIgnoreCase(String title);
+    // Version of a board's tasks (see TaskVersionTracker); empty until the board's first write
+    @Transactional(readOnly = true)
+    @Query("SELECT v.version FROM TaskBoardVersion v WHERE v.boardId = :board")
+    Optional<Long> findBoardVersion(long board);
 
-    List<Task> findAllByOrderByPriorityDesc();
-
-    List<Task> findAllByOrderByCreatedAtDesc();
+    // Write-behind flush (TaskWriteBehindBuffer): tasks that each absorbed `transitions` buffered transitions
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = COALESCE(:status, t.status), " +
+            "t.priority = COALESCE(:priority, t.priority), t.priorityRank = COALESCE(:priorityRank, t.priorityRank), " +
+            "t.updatedAt = :updatedAt, t.version = t.version + :transitions WHERE t.id IN :ids")
+    int applyBufferedTransitions(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, Short priorityRank,
+                                 LocalDateTime updatedAt, long transitions);
 
+    // Set-based delete of every task with the given status
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.status = :status")
+    int deleteAllByStatusInBatch(Task.TaskStatus status);
 
+    // Ranked prefix full-text search backed by the GIN index on search_vector (PostgreSQL only), as (id, rank)
+    // rows after the (afterRank, afterId) keyset position (both null for the first page). Native SQL is not
+    // scoped by Hibernate, so the board is a parameter; it keeps the search to one partition
+    @Query(value = "SELECT r.id, r.rank FROM (" +
+            "SELECT t.id, CAST(ts_rank(t.search_vector, q) AS float8) AS rank FROM tasks t, to_tsquery('simple', :tsQuery) q " +
+            "WHERE t.board_id = :board AND t.search_vector @@ q " +
+            "AND (CAST(:status AS varchar) IS NULL OR t.status = :status) " +
+            "AND (CAST(:priority AS varchar) IS NULL OR t.priority = :priority)) r " +
+            "WHERE CAST(:afterId AS bigint) IS NULL OR r.rank < :afterRank OR (r.rank = :afterRank AND r.id < :afterId) " +
+            "ORDER BY r.rank DESC, r.id DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> searchFullText(long board, String tsQuery, String status, String priority, Double afterRank, Long afterId, int limit);
 }
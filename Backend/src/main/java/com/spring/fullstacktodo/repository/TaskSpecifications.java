@@ -0,0 +1,62 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+// Filters for TaskRepo.findProjected; each one maps onto an index from the migrations
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    // id IN (...) (primary key)
+    public static Specification<Task> hasId(Collection<Long> ids) {
+        return (task, query, cb) -> task.get("id").in(ids);
+    }
+
+    // status IN (...) (idx_tasks_status_priority_rank_id)
+    public static Specification<Task> hasStatus(Collection<Task.TaskStatus> statuses) {
+        return (task, query, cb) -> statuses.size() == 1
+                ? cb.equal(task.get("status"), statuses.iterator().next())
+                : task.get("status").in(statuses);
+    }
+
+    // priority_rank IN (...) (idx_tasks_priority_rank_created_at)
+    public static Specification<Task> hasPriority(Collection<Task.TaskPriority> priorities) {
+        return (task, query, cb) -> priorities.size() == 1
+                ? cb.equal(task.get("priorityRank"), priorities.iterator().next().rank())
+                : task.get("priorityRank").in(priorities.stream().map(Task.TaskPriority::rank).toList());
+    }
+
+    // from <= createdAt < to, either bound optional (idx_tasks_created_at_id)
+    public static Specification<Task> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return between("createdAt", from, to);
+    }
+
+    // from <= updatedAt < to, either bound optional (idx_tasks_updated_at_id)
+    public static Specification<Task> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return between("updatedAt", from, to);
+    }
+
+    // Case-insensitive substring of the title (trigram index idx_tasks_title_trgm on PostgreSQL)
+    public static Specification<Task> titleContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (task, query, cb) -> cb.like(cb.lower(task.get("title")), pattern, '\\');
+    }
+
+    private static Specification<Task> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (task, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(task.get(attribute), from), cb.lessThan(task.get(attribute), to));
+            }
+            return from != null
+                    ? cb.greaterThanOrEqualTo(task.get(attribute), from)
+                    : cb.lessThan(task.get(attribute), to);
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Writes that report the values they replaced in the same statement (RETURNING on PostgreSQL, a data change
+// delta table on H2), so the stats counters can move them without a read or a lock beforehand
+// (see TaskWriteRepositoryImpl). Like searchFullText they are native SQL, restricted to the current board
+public interface TaskWriteRepository {
+
+    // Delete the existing tasks among `ids` with one statement; status and priority of each deleted task
+    // (count 1 per task), so an empty list means nothing was deleted
+    List<TaskCountDTO> deleteReturningStatusAndPriority(Collection<Long> ids);
+
+    // Change status and/or priority of the existing tasks among `ids` with one UPDATE; null arguments keep the
+    // current value, a non-null expectedVersion only updates a task that still has it. Like the bulk updates of
+    // TaskRepo it increments the version explicitly. One entry per updated task, with the values it replaced
+    List<Replaced> transitionReturningPrevious(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority,
+                                               Short priorityRank, LocalDateTime updatedAt, Long expectedVersion);
+
+    // Bump the version of `board`'s tasks (TaskBoardVersion) with one upsert, creating its row on the first write
+    void bumpBoardVersion(long board);
+
+    // Status and priority a transition replaced. On PostgreSQL they come from the statement's snapshot: when a
+    // concurrent write changed the task before the UPDATE got to it, they may be older than what was replaced,
+    // and `exact` is false
+    record Replaced(Task.TaskStatus status, Task.TaskPriority priority, boolean exact) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.spring.fullstacktodo.repository;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.model.TaskBoardVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Transactional
+public class TaskWriteRepositoryImpl implements TaskWriteRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskCountDTO> deleteReturningStatusAndPriority(Collection<Long> ids) {
+        String delete = "DELETE FROM tasks WHERE board_id = :board AND id IN (:ids)";
+        List<Object[]> rows = execute(query(postgres()
+                ? delete + " RETURNING status, priority"
+                : "SELECT status, priority FROM OLD TABLE (" + delete + ")", ids));
+        return rows.stream()
+                .map(row -> new TaskCountDTO(Task.TaskStatus.valueOf((String) row[0]), Task.TaskPriority.valueOf((String) row[1]), 1L))
+                .toList();
+    }
+
+    // PostgreSQL only returns new values, so the previous ones are joined in from a subquery; the version
+    // tells whether a concurrent write came in between (EvalPlanQual re-checks the row, not the subquery)
+    @Override
+    public List<Replaced> transitionReturningPrevious(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority,
+                                                      Short priorityRank, LocalDateTime updatedAt, Long expectedVersion) {
+        String set = "SET status = COALESCE(CAST(:status AS varchar), t.status), " +
+                "priority = COALESCE(CAST(:priority AS varchar), t.priority), " +
+                "priority_rank = COALESCE(CAST(:priorityRank AS smallint), t.priority_rank), " +
+                "updated_at = :updatedAt, version = t.version + 1";
+        String versionCheck = expectedVersion != null ? " AND t.version = :expectedVersion" : "";
+        NativeQuery<?> query = query(postgres()
+                ? "UPDATE tasks t " + set + " FROM (SELECT id, status, priority, version FROM tasks " +
+                        "WHERE board_id = :board AND id IN (:ids)) old " +
+                        "WHERE t.board_id = :board AND t.id = old.id" + versionCheck +
+                        " RETURNING old.status, old.priority, t.version = old.version + 1"
+                : "SELECT status, priority, TRUE FROM OLD TABLE (UPDATE tasks t " + set +
+                        " WHERE t.board_id = :board AND t.id IN (:ids)" + versionCheck + ")", ids)
+                .setParameter("status", status != null ? status.name() : null, String.class)
+                .setParameter("priority", priority != null ? priority.name() : null, String.class)
+                .setParameter("priorityRank", priorityRank, Short.class)
+                .setParameter("updatedAt", updatedAt);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        return execute(query).stream()
+                .map(row -> new Replaced(Task.TaskStatus.valueOf((String) row[0]), Task.TaskPriority.valueOf((String) row[1]),
+                        (Boolean) row[2]))
+                .toList();
+    }
+
+    // H2 only knows ON CONFLICT DO NOTHING: the row is made sure of first, then bumped. MERGE would fail when
+    // two transactions create the same board's row at once
+    @Override
+    public void bumpBoardVersion(long board) {
+        if (postgres()) {
+            versionStatement("INSERT INTO task_board_versions (board_id, version) VALUES (:board, 1) " +
+                    "ON CONFLICT (board_id) DO UPDATE SET version = task_board_versions.version + 1", board);
+            return;
+        }
+        versionStatement("INSERT INTO task_board_versions (board_id, version) VALUES (:board, 0) ON CONFLICT DO NOTHING", board);
+        versionStatement("UPDATE task_board_versions SET version = version + 1 WHERE board_id = :board", board);
+    }
+
+    private void versionStatement(String sql, long board) {
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(TaskBoardVersion.class)
+                .setParameter("board", board)
+                .executeUpdate();
+    }
+
+    // Writing statement on the current board's tasks among `ids` that returns rows
+    private NativeQuery<?> query(String sql, Collection<Long> ids) {
+        return entityManager.createNativeQuery(sql, Object[].class)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Task.class)
+                .setParameter("board", BoardContext.current())
+                .setParameterList("ids", ids);
+    }
+
+    // Pending changes are flushed first and the persistence context is cleared afterwards, as for the
+    // @Modifying queries of TaskRepo
+    @SuppressWarnings("unchecked")
+    private List<Object[]> execute(NativeQuery<?> query) {
+        entityManager.flush();
+        List<Object[]> rows = (List<Object[]>) query.getResultList();
+        entityManager.clear();
+        return rows;
+    }
+
+    private boolean postgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
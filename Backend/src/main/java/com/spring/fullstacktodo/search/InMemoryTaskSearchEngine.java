@@ -0,0 +1,260 @@
+package com.spring.fullstacktodo.search;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.service.TaskChangeListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// In-process inverted index over titles and descriptions, for databases without full-text
+// search (H2 in tests). Indexes every board, searches return the current board's tasks.
+// Rebuilt from TaskRepo at startup and kept in sync by TaskService.
+@Component
+@ConditionalOnProperty(name = "tasks.search.engine", havingValue = "memory")
+public class InMemoryTaskSearchEngine implements TaskSearchEngine, TaskChangeListener {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    // Ranking order: higher score first, then newer (higher) id
+    private static final Comparator<Map.Entry<Long, Integer>> BY_SCORE =
+            Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final TaskRepo taskRepo;
+    // term -> (task id -> weight of the term in that task)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InMemoryTaskSearchEngine(TaskRepo taskRepo) {
+        this.taskRepo = taskRepo;
+    }
+
+    // Indexed view of one task: the filterable fields and the terms to unlink on removal. Taken when a
+    // change is reported and indexed once it has committed
+    private static final class Document {
+        private final long id;
+        private final long board;
+        private Task.TaskStatus status;
+        private Task.TaskPriority priority;
+        private final Map<String, Integer> terms;
+
+        private Document(Task task, Map<String, Integer> terms) {
+            this.id = task.getId();
+            // Tasks built outside a session have no board yet and count as the default board
+            this.board = task.getBoardId() != null ? task.getBoardId() : BoardContext.DEFAULT_BOARD;
+            this.status = task.getStatus();
+            this.priority = task.getPriority();
+            this.terms = terms;
+        }
+    }
+
+    // Load the tasks of every board in keyset pages so the rebuild never holds the whole table at once
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Sort byId = Sort.by("id");
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            BoardContext.acrossBoards(() -> {
+                ScrollPosition position = ScrollPosition.keyset();
+                Window<Task> window;
+                do {
+                    window = taskRepo.findAllBy(position, Limit.of(REBUILD_PAGE_SIZE), byId);
+                    window.forEach(task -> add(document(task)));
+                    if (!window.isEmpty()) {
+                        position = window.positionAt(window.size() - 1);
+                    }
+                } while (window.hasNext());
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Hit> search(String text, Task.TaskStatus status, Task.TaskPriority priority, Position after, int limit) {
+        List<String> terms = TaskSearchTokenizer.tokenize(text);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        long board = BoardContext.current();
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every term has to match
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            // Keep only the best `limit` candidates ranked after the previous page in a min-heap
+            PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+            for (Map.Entry<Long, Integer> candidate : scores.entrySet()) {
+                Document document = documents.get(candidate.getKey());
+                if (document.board != board
+                        || (status != null && document.status != status) || (priority != null && document.priority != priority)
+                        || (after != null && !isAfter(candidate, after))) {
+                    continue;
+                }
+                top.offer(candidate);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            while (!top.isEmpty()) {
+                ranked.add(top.poll());
+            }
+            Collections.reverse(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Map<Long, Task> tasks = taskRepo.findAllById(ranked.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ranked.stream()
+                .filter(entry -> tasks.containsKey(entry.getKey()))
+                .map(entry -> new Hit(tasks.get(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    // Lower score, or the same score and a lower id
+    private static boolean isAfter(Map.Entry<Long, Integer> candidate, Position after) {
+        int byRank = Double.compare(candidate.getValue(), after.rank());
+        return byRank < 0 || (byRank == 0 && candidate.getKey() < after.id());
+    }
+
+    // The index changes once the write commits, so a rolled-back write leaves no hits behind
+
+    @Override
+    public void tasksSaved(Collection<Task> tasks) {
+        List<Document> saved = tasks.stream().map(InMemoryTaskSearchEngine::document).toList();
+        TaskChangeListener.afterCommit(() -> write(() -> saved.forEach(document -> {
+            remove(document.id);
+            add(document);
+        })));
+    }
+
+    @Override
+    public void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        List<Long> copy = List.copyOf(ids);
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            for (Long id : copy) {
+                Document document = documents.get(id);
+                if (document != null) {
+                    document.status = status != null ? status : document.status;
+                    document.priority = priority != null ? priority : document.priority;
+                }
+            }
+        }));
+    }
+
+    @Override
+    public void tasksDeleted(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        TaskChangeListener.afterCommit(() -> write(() -> copy.forEach(this::remove)));
+    }
+
+    @Override
+    public void tasksDeletedByStatus(Task.TaskStatus status) {
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            List<Long> ids = documents.values().stream()
+                    .filter(document -> document.board == board && document.status == status)
+                    .map(document -> document.id)
+                    .toList();
+            ids.forEach(this::remove);
+        }));
+    }
+
+    @Override
+    public void allTasksDeleted() {
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> write(() -> {
+            List<Long> ids = documents.values().stream()
+                    .filter(document -> document.board == board)
+                    .map(document -> document.id)
+                    .toList();
+            ids.forEach(this::remove);
+        }));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Score of every task containing a word that starts with the term; whole-word matches count double
+    private Map<Long, Integer> scoreTerm(String term) {
+        Map<Long, Integer> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> posting
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            boolean exact = posting.getKey().length() == term.length();
+            posting.getValue().forEach((id, weight) -> termScores.merge(id, exact ? weight * 2 : weight, Math::max));
+        }
+        return termScores;
+    }
+
+    private static Document document(Task task) {
+        Map<String, Integer> terms = new HashMap<>();
+        TaskSearchTokenizer.tokenize(task.getTitle()).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        TaskSearchTokenizer.tokenize(task.getDescription()).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return new Document(task, terms);
+    }
+
+    // Callers hold the write lock
+    private void add(Document document) {
+        document.terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.id, weight));
+        documents.put(document.id, document);
+    }
+
+    // Callers hold the write lock
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
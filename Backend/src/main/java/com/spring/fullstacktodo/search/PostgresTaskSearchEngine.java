@@ -0,0 +1,43 @@
+package com.spring.fullstacktodo.search;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Full-text search on the tasks.search_vector column (GIN index, see V3 migration)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "tasks.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+    private final TaskRepo taskRepo;
+
+    @Override
+    public List<Hit> search(String text, Task.TaskStatus status, Task.TaskPriority priority, Position after, int limit) {
+        List<String> terms = TaskSearchTokenizer.tokenize(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        // Terms only contain letters and digits, so they are safe to use as tsquery lexemes
+        String tsQuery = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+        List<Object[]> ranked = taskRepo.searchFullText(BoardContext.current(), tsQuery,
+                status == null ? null : status.name(),
+                priority == null ? null : priority.name(),
+                after == null ? null : after.rank(),
+                after == null ? null : after.id(),
+                limit);
+        Map<Long, Task> tasks = taskRepo.findAllById(ranked.stream().map(row -> ((Number) row[0]).longValue()).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ranked.stream()
+                .filter(row -> tasks.containsKey(((Number) row[0]).longValue()))
+                .map(row -> new Hit(tasks.get(((Number) row[0]).longValue()), ((Number) row[1]).doubleValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,22 @@
+package com.spring.fullstacktodo.search;
+
+import com.spring.fullstacktodo.model.Task;
+
+import java.util.List;
+
+// Ranked text search over task titles and descriptions
+public interface TaskSearchEngine {
+
+    // Best matches first, ties broken by the higher id; every term must match a word, or the start of a word,
+    // in the title or description. status and priority are optional filters (null means any); `after` is the
+    // (rank, id) of the last hit of the previous page, null for the first page
+    List<Hit> search(String text, Task.TaskStatus status, Task.TaskPriority priority, Position after, int limit);
+
+    // A matching task and its rank (higher is better)
+    record Hit(Task task, double rank) {
+    }
+
+    // Keyset position in the ranking
+    record Position(double rank, long id) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.spring.fullstacktodo.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Splits text into lower-case letter/digit terms, shared by every search engine
+public final class TaskSearchTokenizer {
+
+    private TaskSearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
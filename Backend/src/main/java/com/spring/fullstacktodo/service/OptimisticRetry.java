@@ -0,0 +1,76 @@
+package com.spring.fullstacktodo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs a read-modify-write in its own transaction and, when another writer committed between the
+// read and the version-checked UPDATE, runs it again on a fresh read. Only for writes that are safe
+// to repeat (replacing fields with client-given values); conditional writes use executeOnce.
+// Retries and given-up attempts are counted as tasks.update.conflicts{outcome=retried|failed}
+@Component
+public class OptimisticRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${tasks.concurrency.max-attempts:3}") int maxAttempts,
+                           @Value("${tasks.concurrency.retry-backoff:5ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffNanos = backoff.toNanos();
+        this.retried = Counter.builder("tasks.update.conflicts").tag("outcome", "retried").register(meterRegistry);
+        this.failed = Counter.builder("tasks.update.conflicts").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    // Up to max-attempts transactions; the last conflict propagates (answered with 409)
+    public <T> T execute(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    failed.increment();
+                    throw e;
+                }
+                retried.increment();
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    // A single transaction: the client asserted a version, so a conflict is its answer
+    public <T> T executeOnce(Supplier<T> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (OptimisticLockingFailureException e) {
+            failed.increment();
+            throw e;
+        }
+    }
+
+    // Exponential backoff with full jitter, so writers that collided do not collide again in lockstep
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long bound = backoffNanos << Math.min(attempt - 1, 10);
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(bound)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
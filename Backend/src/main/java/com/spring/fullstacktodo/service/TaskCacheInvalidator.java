@@ -0,0 +1,98 @@
+package com.spring.fullstacktodo.service;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.config.CacheConfig;
+import com.spring.fullstacktodo.model.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Keeps the task caches consistent with every write made through TaskService
+@Component
+@RequiredArgsConstructor
+public class TaskCacheInvalidator implements TaskChangeListener {
+    private final CacheManager cacheManager;
+
+    // Evictions run after commit; evicting earlier lets a concurrent read cache the old row again.
+    // Writes happen on the board of the calling thread, so only that board's entries are evicted
+
+    @Override
+    public void tasksSaved(Collection<Task> tasks) {
+        long board = BoardContext.current();
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        TaskChangeListener.afterCommit(() -> {
+            evictIds(board, ids);
+            // Cached list entries embed the full task, so any list may hold a stale copy
+            evictLists(board);
+        });
+    }
+
+    @Override
+    public void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        long board = BoardContext.current();
+        List<Long> copy = List.copyOf(ids);
+        TaskChangeListener.afterCommit(() -> {
+            evictIds(board, copy);
+            evictLists(board);
+        });
+    }
+
+    @Override
+    public void tasksDeleted(Collection<Long> ids) {
+        long board = BoardContext.current();
+        List<Long> copy = List.copyOf(ids);
+        TaskChangeListener.afterCommit(() -> {
+            evictIds(board, copy);
+            evictLists(board);
+        });
+    }
+
+    @Override
+    public void tasksDeletedByStatus(Task.TaskStatus status) {
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> clearAll(board));
+    }
+
+    @Override
+    public void allTasksDeleted() {
+        long board = BoardContext.current();
+        TaskChangeListener.afterCommit(() -> clearAll(board));
+    }
+
+    private void evictIds(long board, Collection<Long> ids) {
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        if (tasks != null) {
+            ids.forEach(id -> tasks.evict(CacheConfig.key(board, id)));
+        }
+    }
+
+    // A board has one list entry per status and per priority
+    private void evictLists(long board) {
+        Cache byStatus = cacheManager.getCache(CacheConfig.TASKS_BY_STATUS);
+        if (byStatus != null) {
+            for (Task.TaskStatus status : Task.TaskStatus.values()) {
+                byStatus.evict(CacheConfig.key(board, status));
+            }
+        }
+        Cache byPriority = cacheManager.getCache(CacheConfig.TASKS_BY_PRIORITY);
+        if (byPriority != null) {
+            for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+                byPriority.evict(CacheConfig.key(board, priority));
+            }
+        }
+    }
+
+    // The ids of the removed tasks are unknown, so every board's by-id entries go
+    private void clearAll(long board) {
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        if (tasks != null) {
+            tasks.clear();
+        }
+        evictLists(board);
+    }
+}
@@ -0,0 +1,62 @@
+package com.spring.fullstacktodo.service;
+
+import com.spring.fullstacktodo.model.Task;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+// Callback for components that mirror task data (indexes, caches, feeds).
+// TaskService calls every registered listener after each successful write.
+public interface TaskChangeListener {
+
+    // Tasks were created or fully updated; the entities carry their new state
+    default void tasksSaved(Collection<Task> tasks) {
+    }
+
+    // Status and/or priority of the given ids changed in place (a null value means unchanged),
+    // stamped with `updatedAt`; each id's version went up by one
+    default void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+    }
+
+    default void tasksDeleted(Collection<Long> ids) {
+    }
+
+    default void tasksDeletedByStatus(Task.TaskStatus status) {
+    }
+
+    default void allTasksDeleted() {
+    }
+
+    // Run once the surrounding transaction has committed, or right away without one.
+    // Listeners that publish state use it so nobody can observe a write that is later rolled back
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Run once the surrounding transaction has completed, told whether it committed, or right away (as
+    // committed) without one; for state that also has to hear about rollbacks
+    static void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+}
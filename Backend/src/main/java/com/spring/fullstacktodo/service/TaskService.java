@@ -1,151 +1,637 @@
 package com.spring.fullstacktodo.service;
 
+import com.spring.fullstacktodo.config.CacheConfig;
+import com.spring.fullstacktodo.dto.TaskBatchResultDTO;
+import com.spring.fullstacktodo.dto.TaskBatchTransitionDTO;
+import com.spring.fullstacktodo.dto.TaskBatchUpdateDTO;
+import com.spring.fullstacktodo.dto.TaskChangesDTO;
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.dto.TaskPageDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskQueryDTO;
 import com.spring.fullstacktodo.dto.TaskRequestDTO;
 import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.dto.TaskSummaryDTO;
+import com.spring.fullstacktodo.exception.InvalidTaskQueryException;
+import com.spring.fullstacktodo.exception.TaskConflictException;
 import com.spring.fullstacktodo.exception.TaskNotFoundException;
+import com.spring.fullstacktodo.exception.TaskPreconditionFailedException;
+import com.spring.fullstacktodo.feed.TaskChangeFeed;
+import com.spring.fullstacktodo.index.TaskColumnIndex;
 import com.spring.fullstacktodo.mapper.TaskMapper;
 import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskProjection;
 import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.repository.TaskSpecifications;
+import com.spring.fullstacktodo.repository.TaskWriteRepository;
+import com.spring.fullstacktodo.search.TaskSearchEngine;
+import com.spring.fullstacktodo.util.TaskCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+// Every public method is timed as tasks.service (tagged by method and exception)
 @Service
+@Timed("tasks.service")
 @RequiredArgsConstructor
 public class TaskService {
+    // Upper bound for a single keyset page, whatever the client asks for
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Keyset orderings; the trailing id makes every position unique. Each one follows an index
+    // from the V2 migration so pages are read as index range scans
+    private static final Sort BY_CREATED_AT = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+    private static final Sort BY_CREATED_AT_DESC = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Sort BY_PRIORITY_DESC = Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Sort BY_PRIORITY_DESC_ID = Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.desc("id"));
+    // Search ranking; only used to check and read search cursors
+    private static final Sort BY_RANK = Sort.by(Sort.Order.desc("rank"), Sort.Order.desc("id"));
+
+    // Sort keys accepted by queryTasks and the attribute each one orders by
+    private static final Map<String, String> QUERY_SORT_KEYS = Map.of(
+            "id", "id", "title", "title", "status", "status", "priority", "priorityRank",
+            "createdAt", "createdAt", "updatedAt", "updatedAt");
+
+    // Rows flushed per JDBC batch in bulk operations; matches hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
     private final TaskRepo taskRepo;
     private final TaskMapper taskMapper;
+    private final TaskStatsCounter taskStatsCounter;
+    private final EntityManager entityManager;
+    private final TaskSearchEngine taskSearchEngine;
+    private final TaskVersionTracker taskVersionTracker;
+    private final TaskChangeFeed taskChangeFeed;
+    private final OptimisticRetry optimisticRetry;
+    private final TaskWriteBehindBuffer writeBehind;
+    private final TaskColumnIndex taskColumnIndex;
+    private final List<TaskChangeListener> taskChangeListeners;
+    // Single-statement writes run in a transaction with their stats change (which only applies on commit);
+    // it starts after writeBehind.flush(), whose own transaction must not roll back with theirs
+    private final TransactionTemplate transactionTemplate;
 
     // Create a new task
+    @Transactional
     public TaskResponseDTO createTask(TaskRequestDTO taskRequestDTO) {
         Task task = taskMapper.toEntity(taskRequestDTO);
-        Task savedTask = taskRepo.save(task);
+        // Flushed so the listeners see what the insert stored (the board is only filled in on insert)
+        Task savedTask = taskRepo.saveAndFlush(task);
+        taskStatsCounter.taskCreated(savedTask);
+        taskChangeListeners.forEach(listener -> listener.tasksSaved(List.of(savedTask)));
         return taskMapper.toResponseDto(savedTask);
     }
 
     // Get all tasks
     public List<TaskResponseDTO> getAllTasks() {
-        List<Task> tasks = taskRepo.findAll();
-        return taskMapper.toResponseDtoList(tasks);
+        return list(TaskProjection.RESPONSE, null, null, BY_CREATED_AT);
+    }
+
+    // All tasks (optionally with one status) in the description-less list view
+    public List<TaskSummaryDTO> getTaskSummaries(Task.TaskStatus status) {
+        return list(TaskProjection.SUMMARY, status, null, summaryOrder(status));
     }
 
     // Get task by id
+    @Cacheable(cacheNames = CacheConfig.TASKS, keyGenerator = CacheConfig.BOARD_KEY)
     public Optional<TaskResponseDTO> getTaskById(Long id) {
-        return taskRepo.findById(id)
-                .map(taskMapper::toResponseDto);
+        return writeBehind.read(id, taskRepo::findResponseById);
     }
 
     // Update task
     public TaskResponseDTO updateTask(Long id, TaskRequestDTO taskRequestDTO) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        taskMapper.updateEntityFromDto(taskRequestDTO, task);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return updateTask(id, taskRequestDTO, null);
     }
 
-    // Delete task
-    public void deleteTask(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        taskRepo.delete(task);
+    // Update task. With an If-Match version (412 when stale) or a version in the body (409 when stale) the
+    // update is conditional; otherwise it replaces the fields and is retried if a concurrent write wins the race
+    public TaskResponseDTO updateTask(Long id, TaskRequestDTO taskRequestDTO, Long expectedVersion) {
+        writeBehind.flush();
+        Supplier<TaskResponseDTO> write = () -> applyUpdate(id, taskRequestDTO, expectedVersion);
+        return expectedVersion != null || taskRequestDTO.getVersion() != null
+                ? optimisticRetry.executeOnce(write)
+                : optimisticRetry.execute(write);
+    }
+
+    // Delete task; false if there was no such task
+    public boolean deleteTask(Long id) {
+        writeBehind.flush();
+        // One DELETE, which also returns the counts the task leaves; no row means no such task
+        List<TaskCountDTO> deleted = transactionTemplate.execute(tx -> {
+            List<TaskCountDTO> rows = taskRepo.deleteReturningStatusAndPriority(List.of(id));
+            if (!rows.isEmpty()) {
+                rows.forEach(task -> taskStatsCounter.taskDeleted(task.getStatus(), task.getPriority()));
+                taskChangeListeners.forEach(listener -> listener.tasksDeleted(List.of(id)));
+            }
+            return rows;
+        });
+        return !deleted.isEmpty();
     }
 
     // Delete all tasks
     public void deleteAllTasks() {
-        taskRepo.deleteAll();
+        writeBehind.flush();
+        transactionTemplate.executeWithoutResult(tx -> {
+            taskRepo.deleteAllInBatch();
+            taskStatsCounter.allTasksDeleted();
+            taskChangeListeners.forEach(TaskChangeListener::allTasksDeleted);
+        });
+    }
+
+    // Delete every task with the given status (e.g. clear done tasks)
+    public int deleteTasksByStatus(Task.TaskStatus status) {
+        writeBehind.flush();
+        int deleted = transactionTemplate.execute(tx -> {
+            int rows = taskRepo.deleteAllByStatusInBatch(status);
+            taskStatsCounter.statusCleared(status);
+            taskChangeListeners.forEach(listener -> listener.tasksDeletedByStatus(status));
+            return rows;
+        });
+        return deleted;
+    }
+
+    // Change status and/or priority with a single UPDATE statement (or into the write-behind buffer);
+    // false if there is no such task
+    public boolean patchTask(Long id, TaskPatchDTO patch) {
+        return patchTask(id, patch, null);
+    }
+
+    // Same as patchTask, applied only if the task still has the version the client saw (null skips the check)
+    public boolean patchTask(Long id, TaskPatchDTO patch, Long expectedVersion) {
+        if (patch.getStatus() == null && patch.getPriority() == null) {
+            return taskRepo.existsById(id);
+        }
+        if (expectedVersion == null && writeBehind.isEnabled()) {
+            return bufferTransition(id, patch);
+        }
+        writeBehind.flush();
+        // A single UPDATE, which also returns the values it replaced for the counters; nothing is read or
+        // locked before it, so concurrent transitions of a task just apply in turn
+        LocalDateTime now = Task.currentTimestamp();
+        List<TaskWriteRepository.Replaced> previous = transactionTemplate.execute(tx -> {
+            List<TaskWriteRepository.Replaced> rows = taskRepo.transitionReturningPrevious(List.of(id), patch.getStatus(),
+                    patch.getPriority(), rankOf(patch.getPriority()), now, expectedVersion);
+            if (!rows.isEmpty()) {
+                countTransitions(rows, patch.getStatus(), patch.getPriority());
+                taskChangeListeners.forEach(listener -> listener.tasksTransitioned(List.of(id), patch.getStatus(), patch.getPriority(), now));
+            }
+            return rows;
+        });
+        if (previous.isEmpty()) {
+            // No row matched: no such task or, with a version, one that changed since
+            if (expectedVersion != null && taskRepo.existsById(id)) {
+                throw new TaskPreconditionFailedException(id);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // Create many tasks in one transaction, flushing them in JDBC batches
+    @Transactional
+    public List<TaskResponseDTO> createTasks(List<TaskRequestDTO> taskRequestDTOs) {
+        List<Task> tasks = taskMapper.toEntityList(taskRequestDTOs);
+        List<TaskResponseDTO> created = new ArrayList<>(tasks.size());
+        for (int from = 0; from < tasks.size(); from += BATCH_SIZE) {
+            List<Task> chunk = taskRepo.saveAll(tasks.subList(from, Math.min(from + BATCH_SIZE, tasks.size())));
+            entityManager.flush();
+            taskChangeListeners.forEach(listener -> listener.tasksSaved(chunk));
+            created.addAll(taskMapper.toResponseDtoList(chunk));
+            // Keep the persistence context small on large imports
+            entityManager.clear();
+        }
+        taskStatsCounter.invalidate();
+        return created;
+    }
+
+    // Update many tasks in one transaction; fails as a whole if any id does not exist or, for
+    // entries that carry a version, if that task changed since (409). Retried like updateTask otherwise
+    public List<TaskResponseDTO> updateTasks(List<TaskBatchUpdateDTO> taskBatchUpdateDTOs) {
+        writeBehind.flush();
+        Supplier<List<TaskResponseDTO>> write = () -> applyUpdates(taskBatchUpdateDTOs);
+        return taskBatchUpdateDTOs.stream().anyMatch(dto -> dto.getVersion() != null)
+                ? optimisticRetry.executeOnce(write)
+                : optimisticRetry.execute(write);
+    }
+
+    // Apply the same status and/or priority to many tasks with a single UPDATE
+    public TaskBatchResultDTO transitionTasks(TaskBatchTransitionDTO transition) {
+        List<Long> ids = transition.getIds();
+        if (ids == null || ids.isEmpty() || (transition.getStatus() == null && transition.getPriority() == null)) {
+            return new TaskBatchResultDTO(ids == null ? 0 : ids.size(), 0);
+        }
+        writeBehind.flush();
+        LocalDateTime now = Task.currentTimestamp();
+        List<TaskWriteRepository.Replaced> previous = transactionTemplate.execute(tx -> {
+            List<TaskWriteRepository.Replaced> rows = taskRepo.transitionReturningPrevious(ids, transition.getStatus(),
+                    transition.getPriority(), rankOf(transition.getPriority()), now, null);
+            countTransitions(rows, transition.getStatus(), transition.getPriority());
+            taskChangeListeners.forEach(listener -> listener.tasksTransitioned(ids, transition.getStatus(), transition.getPriority(), now));
+            return rows;
+        });
+        return new TaskBatchResultDTO(ids.size(), previous.size());
+    }
+
+    // Delete many tasks with a single DELETE; `affected` counts the rows it returned
+    public TaskBatchResultDTO deleteTasks(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new TaskBatchResultDTO(0, 0);
+        }
+        writeBehind.flush();
+        List<TaskCountDTO> deleted = transactionTemplate.execute(tx -> {
+            List<TaskCountDTO> rows = taskRepo.deleteReturningStatusAndPriority(ids);
+            rows.forEach(task -> taskStatsCounter.taskDeleted(task.getStatus(), task.getPriority()));
+            taskChangeListeners.forEach(listener -> listener.tasksDeleted(ids));
+            return rows;
+        });
+        return new TaskBatchResultDTO(ids.size(), deleted.size());
     }
 
     // Mark task as completed
     public TaskResponseDTO markTaskAsCompleted(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setStatus(Task.TaskStatus.DONE);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(Task.TaskStatus.DONE, null));
     }
 
     // Mark task as in progress
     public TaskResponseDTO markTaskAsInProgress(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setStatus(Task.TaskStatus.IN_PROGRESS);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(Task.TaskStatus.IN_PROGRESS, null));
     }
 
     // Mark task as to do
     public TaskResponseDTO markTaskAsToDo(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setStatus(Task.TaskStatus.TODO);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(Task.TaskStatus.TODO, null));
     }
 
     // Mark task as urgent
     public TaskResponseDTO markTaskAsUrgent(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setPriority(Task.TaskPriority.URGENT);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(null, Task.TaskPriority.URGENT));
     }
 
     // Mark task as high
     public TaskResponseDTO markTaskAsHigh(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setPriority(Task.TaskPriority.HIGH);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(null, Task.TaskPriority.HIGH));
     }
 
     // Mark task as medium
     public TaskResponseDTO markTaskAsMedium(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setPriority(Task.TaskPriority.MEDIUM);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(null, Task.TaskPriority.MEDIUM));
     }
 
     // Mark task as low
     public TaskResponseDTO markTaskAsLow(Long id) {
-        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
-        task.setPriority(Task.TaskPriority.LOW);
-        Task updatedTask = taskRepo.save(task);
-        return taskMapper.toResponseDto(updatedTask);
+        return transition(id, new TaskPatchDTO(null, Task.TaskPriority.LOW));
+    }
+
+    // Apply a transition and read the task back for the response
+    private TaskResponseDTO transition(Long id, TaskPatchDTO patch) {
+        if (!patchTask(id, patch)) {
+            throw new TaskNotFoundException(id);
+        }
+        return writeBehind.read(id, taskRepo::findResponseById)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    // Version of the current board's tasks, changes after every write on that board
+    public String getCollectionVersion() {
+        return taskVersionTracker.currentVersion();
+    }
+
+    // Committed changes after the given feed cursor
+    public TaskChangesDTO getChangesSince(String since, int limit) {
+        return taskChangeFeed.changesSince(since, limitOf(limit).max());
+    }
+
+    // Stream committed changes as server-sent events, replaying the ones after `since` first
+    public SseEmitter subscribeToChanges(String since) {
+        return taskChangeFeed.subscribe(since);
+    }
+
+    // Get task counts by status and priority
+    public TaskStatsDTO getTaskStats() {
+        return taskStatsCounter.getStats();
     }
 
     // Get task by status
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_STATUS, keyGenerator = CacheConfig.BOARD_KEY)
     public List<TaskResponseDTO> getTasksByStatus(Task.TaskStatus status) {
-        List<Task> tasks = taskRepo.findByStatus(status);
-        return taskMapper.toResponseDtoList(tasks);
+        return list(TaskProjection.RESPONSE, status, null, BY_PRIORITY_DESC_ID);
     }
 
-//    // Get task by status and priority
-//    public List<TaskResponseDTO> getTasksByStatusAndPriority(Task.TaskStatus status, Task.TaskPriority priority) {
-//        List<Task> tasks = taskRepo.findByStatusAndPriority(status, priority);
-//        return taskMapper.toResponseDtoList(tasks);
-//    }
-
     // Get tasks by priority
+    @Cacheable(cacheNames = CacheConfig.TASKS_BY_PRIORITY, keyGenerator = CacheConfig.BOARD_KEY)
     public List<TaskResponseDTO> getTasksByPriority(Task.TaskPriority priority) {
-        List<Task> tasks = taskRepo.findByPriority(priority);
-        return taskMapper.toResponseDtoList(tasks);
+        return list(TaskProjection.RESPONSE, null, priority, BY_CREATED_AT);
     }
 
-    // Search tasks by title
-    public List<TaskResponseDTO> searchTasksByTitle(String title) {
-        List<Task> tasks = taskRepo.findByTitleContainingIgnoreCase(title);
-        return taskMapper.toResponseDtoList(tasks);
+    // Keyset page of a ranked search over title and description, optionally filtered by status and priority,
+    // ordered by (rank desc, id desc)
+    public TaskPageDTO<TaskResponseDTO> searchTasks(String text, Task.TaskStatus status, Task.TaskPriority priority, String cursor, int limit) {
+        KeysetScrollPosition position = TaskCursor.decode(cursor, BY_RANK);
+        TaskSearchEngine.Position after = position.isInitial()
+                ? null
+                : new TaskSearchEngine.Position((Double) position.getKeys().get("rank"), (Long) position.getKeys().get("id"));
+        int pageSize = limitOf(limit).max();
+        return writeBehind.read(waiting -> {
+            // One extra hit tells whether there is a next page
+            List<TaskSearchEngine.Hit> hits = taskSearchEngine.search(text, status, priority, after, pageSize + 1);
+            List<TaskSearchEngine.Hit> pageHits = hits.subList(0, Math.min(hits.size(), pageSize));
+            String nextCursor = null;
+            if (hits.size() > pageSize) {
+                TaskSearchEngine.Hit last = pageHits.get(pageHits.size() - 1);
+                Map<String, Object> keys = new LinkedHashMap<>();
+                keys.put("rank", last.rank());
+                keys.put("id", last.task().getId());
+                nextCursor = TaskCursor.encode(ScrollPosition.forward(keys));
+            }
+            List<TaskResponseDTO> tasks = taskMapper.toResponseDtoList(pageHits.stream().map(TaskSearchEngine.Hit::task).toList());
+            return new TaskPageDTO<>(TaskWriteBehindBuffer.apply(tasks, waiting, matches(status, priority)), nextCursor);
+        });
     }
 
     // Get all tasks ordered by priority
     public List<TaskResponseDTO> getAllTasksOrderedByPriority() {
-        List<Task> tasks = taskRepo.findAllByOrderByPriorityDesc();
-        return taskMapper.toResponseDtoList(tasks);
+        return list(TaskProjection.RESPONSE, null, null, BY_PRIORITY_DESC);
     }
 
     // Get all tasks ordered by created date
     public List<TaskResponseDTO> getAllTasksOrderedByDate() {
-        List<Task> tasks = taskRepo.findAllByOrderByCreatedAtDesc();
-        return taskMapper.toResponseDtoList(tasks);
+        return list(TaskProjection.RESPONSE, null, null, BY_CREATED_AT_DESC);
+    }
+
+    // Keyset page of all tasks ordered by (createdAt, id)
+    public TaskPageDTO<TaskResponseDTO> getAllTasks(String cursor, int limit) {
+        return page(TaskProjection.RESPONSE, null, matches(null, null), cursor, limitOf(limit), BY_CREATED_AT);
+    }
+
+    // Filtered, sorted and optionally sparse tasks in one query; a null limit returns every match
+    public TaskPageDTO<?> queryTasks(TaskQueryDTO query, Sort sort, String cursor, Integer limit) {
+        TaskProjection<?> projection = query.getFields() == null || query.getFields().isEmpty()
+                ? TaskProjection.RESPONSE
+                : TaskProjection.ofFields(query.getFields());
+        Predicate<TaskWriteBehindBuffer.Transition> matches = transition ->
+                (query.getStatus() == null || query.getStatus().isEmpty() || query.getStatus().contains(transition.toStatus()))
+                        && (query.getPriority() == null || query.getPriority().isEmpty() || query.getPriority().contains(transition.toPriority()));
+        return page(projection, queryFilter(query), matches, cursor, limit == null ? Limit.unlimited() : limitOf(limit), queryOrder(sort));
+    }
+
+    // Keyset page of the list view, in the order of the matching full endpoint
+    public TaskPageDTO<TaskSummaryDTO> getTaskSummaries(Task.TaskStatus status, String cursor, int limit) {
+        return page(TaskProjection.SUMMARY, statusFilter(status), matches(status, null), cursor, limitOf(limit), summaryOrder(status));
+    }
+
+    // Keyset page of tasks with the given status, most urgent first
+    public TaskPageDTO<TaskResponseDTO> getTasksByStatus(Task.TaskStatus status, String cursor, int limit) {
+        return page(TaskProjection.RESPONSE, TaskSpecifications.hasStatus(List.of(status)), matches(status, null),
+                cursor, limitOf(limit), BY_PRIORITY_DESC_ID);
+    }
+
+    // Keyset page of tasks with the given priority
+    public TaskPageDTO<TaskResponseDTO> getTasksByPriority(Task.TaskPriority priority, String cursor, int limit) {
+        return page(TaskProjection.RESPONSE, TaskSpecifications.hasPriority(List.of(priority)), matches(null, priority),
+                cursor, limitOf(limit), BY_CREATED_AT);
+    }
+
+    // Keyset page of tasks ordered by (priority desc, createdAt desc, id desc)
+    public TaskPageDTO<TaskResponseDTO> getAllTasksOrderedByPriority(String cursor, int limit) {
+        return page(TaskProjection.RESPONSE, null, matches(null, null), cursor, limitOf(limit), BY_PRIORITY_DESC);
+    }
+
+    // Keyset page of tasks ordered by (createdAt desc, id desc)
+    public TaskPageDTO<TaskResponseDTO> getAllTasksOrderedByDate(String cursor, int limit) {
+        return page(TaskProjection.RESPONSE, null, matches(null, null), cursor, limitOf(limit), BY_CREATED_AT_DESC);
+    }
+
+    // The row is read once per burst: a task with pending transitions was there a moment ago. Counters,
+    // caches, feed and collection version are told right away, the database on the next flush
+    private boolean bufferTransition(Long id, TaskPatchDTO patch) {
+        LocalDateTime now = Task.currentTimestamp();
+        TaskWriteBehindBuffer.Transition move = taskStatsCounter.transitionBuffered(() ->
+                writeBehind.add(id, patch.getStatus(), patch.getPriority(), now, taskRepo::findResponseById));
+        if (move == null) {
+            return false;
+        }
+        taskChangeListeners.forEach(listener -> listener.tasksTransitioned(List.of(id), patch.getStatus(), patch.getPriority(), now));
+        return true;
+    }
+
+    // Move the counts of the tasks read before a transition to their new status and/or priority (null keeps it)
+    private void countTransitions(List<TaskWriteRepository.Replaced> previous, Task.TaskStatus status, Task.TaskPriority priority) {
+        // A concurrent write changed one of the tasks in between, so its previous values are not certain
+        if (previous.stream().anyMatch(task -> !task.exact())) {
+            taskStatsCounter.invalidate();
+            return;
+        }
+        for (TaskWriteRepository.Replaced task : previous) {
+            taskStatsCounter.taskChanged(task.status(), task.priority(),
+                    status != null ? status : task.status(), priority != null ? priority : task.priority());
+        }
+    }
+
+    // One read-modify-write attempt, run inside OptimisticRetry's transaction
+    private TaskResponseDTO applyUpdate(Long id, TaskRequestDTO taskRequestDTO, Long expectedVersion) {
+        Task task = taskRepo.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskPreconditionFailedException(id);
+        }
+        checkVersion(task, taskRequestDTO.getVersion());
+        Task.TaskStatus oldStatus = task.getStatus();
+        Task.TaskPriority oldPriority = task.getPriority();
+        taskMapper.updateEntityFromDto(taskRequestDTO, task);
+        // Flush here so a lost race fails before the stats change and the listeners are told; both only take
+        // effect when the transaction commits
+        Task updatedTask = taskRepo.saveAndFlush(task);
+        taskStatsCounter.taskChanged(oldStatus, oldPriority, updatedTask);
+        taskChangeListeners.forEach(listener -> listener.tasksSaved(List.of(updatedTask)));
+        return taskMapper.toResponseDto(updatedTask);
     }
-}
 
+    private List<TaskResponseDTO> applyUpdates(List<TaskBatchUpdateDTO> taskBatchUpdateDTOs) {
+        Map<Long, TaskBatchUpdateDTO> updatesById = new LinkedHashMap<>();
+        for (TaskBatchUpdateDTO dto : taskBatchUpdateDTOs) {
+            if (dto.getId() == null) {
+                throw new TaskNotFoundException("Every task in a batch update needs an id");
+            }
+            updatesById.put(dto.getId(), dto);
+        }
+        List<Long> ids = new ArrayList<>(updatesById.keySet());
+        List<TaskResponseDTO> updated = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunkIds = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            List<Task> chunk = taskRepo.findAllById(chunkIds);
+            if (chunk.size() != chunkIds.size()) {
+                List<Long> missing = new ArrayList<>(chunkIds);
+                chunk.forEach(task -> missing.remove(task.getId()));
+                throw new TaskNotFoundException("Tasks not found with ids: " + missing);
+            }
+            for (Task task : chunk) {
+                TaskBatchUpdateDTO dto = updatesById.get(task.getId());
+                checkVersion(task, dto.getVersion());
+                taskMapper.updateEntityFromDto(dto, task);
+            }
+            taskRepo.saveAllAndFlush(chunk);
+            taskChangeListeners.forEach(listener -> listener.tasksSaved(chunk));
+            updated.addAll(taskMapper.toResponseDtoList(chunk));
+            entityManager.clear();
+        }
+        taskStatsCounter.invalidate();
+        return updated;
+    }
+
+    // The version the client based its change on must still be current (null skips the check)
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new TaskConflictException(task.getId(), expectedVersion, task.getVersion());
+        }
+    }
+
+    private static Short rankOf(Task.TaskPriority priority) {
+        return priority == null ? null : priority.rank();
+    }
+
+    private static Limit limitOf(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    // The summary list follows /api/tasks, or /api/tasks/status/{status} when filtered
+    private static Sort summaryOrder(Task.TaskStatus status) {
+        return status == null ? BY_CREATED_AT : BY_PRIORITY_DESC_ID;
+    }
+
+    // Whether a task with pending transitions still passes a status and/or priority filter (null for any)
+    private static Predicate<TaskWriteBehindBuffer.Transition> matches(Task.TaskStatus status, Task.TaskPriority priority) {
+        return transition -> (status == null || transition.toStatus() == status)
+                && (priority == null || transition.toPriority() == priority);
+    }
+
+    // ORDER BY `sort` over the sort keys of projected rows (Window positions)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Map<String, Object>> keyOrder(Sort sort) {
+        Comparator<Map<String, Object>> order = (a, b) -> 0;
+        for (Sort.Order property : sort) {
+            Comparator<Map<String, Object>> key = Comparator.comparing(
+                    keys -> (Comparable) keys.get(property.getProperty()), Comparator.nullsFirst(Comparator.naturalOrder()));
+            order = order.thenComparing(property.isAscending() ? key : key.reversed());
+        }
+        return order;
+    }
+
+    private static Specification<Task> statusFilter(Task.TaskStatus status) {
+        return status == null ? null : TaskSpecifications.hasStatus(List.of(status));
+    }
+
+    // AND of every filter present in the query, null when there is none
+    private static Specification<Task> queryFilter(TaskQueryDTO query) {
+        List<Specification<Task>> filters = new ArrayList<>();
+        if (query.getStatus() != null && !query.getStatus().isEmpty()) {
+            filters.add(TaskSpecifications.hasStatus(query.getStatus()));
+        }
+        if (query.getPriority() != null && !query.getPriority().isEmpty()) {
+            filters.add(TaskSpecifications.hasPriority(query.getPriority()));
+        }
+        if (query.getCreatedFrom() != null || query.getCreatedTo() != null) {
+            filters.add(TaskSpecifications.createdBetween(query.getCreatedFrom(), query.getCreatedTo()));
+        }
+        if (query.getUpdatedFrom() != null || query.getUpdatedTo() != null) {
+            filters.add(TaskSpecifications.updatedBetween(query.getUpdatedFrom(), query.getUpdatedTo()));
+        }
+        if (query.getQ() != null && !query.getQ().isBlank()) {
+            filters.add(TaskSpecifications.titleContains(query.getQ().trim()));
+        }
+        return filters.isEmpty() ? null : Specification.allOf(filters);
+    }
+
+    // Client sort keys mapped to entity attributes, with a trailing id so keyset positions are unique
+    private static Sort queryOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return BY_CREATED_AT;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String attribute = QUERY_SORT_KEYS.get(order.getProperty());
+            if (attribute == null) {
+                throw new InvalidTaskQueryException("Unknown sort key: " + order.getProperty());
+            }
+            orders.add(new Sort.Order(order.getDirection(), attribute));
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals("id"))) {
+            orders.add(new Sort.Order(orders.get(orders.size() - 1).getDirection(), "id"));
+        }
+        return Sort.by(orders);
+    }
+
+    // Unpaginated list with an optional status and priority filter. Served by the column index once it is
+    // loaded (it already holds buffered transitions). The database path also reads the rows of tasks with
+    // buffered transitions, keeps those their pending values still match and re-sorts them by those values
+    private <T> List<T> list(TaskProjection<T> projection, Task.TaskStatus status, Task.TaskPriority priority, Sort sort) {
+        if (taskColumnIndex.isReady() && (projection == TaskProjection.RESPONSE || projection == TaskProjection.SUMMARY)) {
+            List<T> rows = taskColumnIndex.query(status, priority, sort, projection == TaskProjection.SUMMARY);
+            if (rows != null) {
+                return rows;
+            }
+        }
+        Specification<Task> filter = Specification.allOf(
+                statusFilter(status), priority == null ? null : TaskSpecifications.hasPriority(List.of(priority)));
+        return writeBehind.read(waiting -> {
+            if (waiting.isEmpty()) {
+                return taskRepo.findProjected(projection, filter, ScrollPosition.keyset(), Limit.unlimited(), sort).getContent();
+            }
+            Specification<Task> withPending = status == null && priority == null
+                    ? filter
+                    : filter.or(TaskSpecifications.hasId(waiting.keySet()));
+            Window<T> window = taskRepo.findProjected(projection, withPending, ScrollPosition.keyset(), Limit.unlimited(), sort);
+            Predicate<TaskWriteBehindBuffer.Transition> matches = matches(status, priority);
+            // Each row with its sort keys, the keys of moved tasks updated to their pending values
+            List<Map.Entry<Map<String, Object>, T>> rows = new ArrayList<>(window.size());
+            for (int i = 0; i < window.size(); i++) {
+                Map<String, Object> rowKeys = new HashMap<>(((KeysetScrollPosition) window.positionAt(i)).getKeys());
+                TaskWriteBehindBuffer.Transition transition = waiting.get((Long) rowKeys.get("id"));
+                if (transition != null) {
+                    if (!matches.test(transition)) {
+                        continue;
+                    }
+                    TaskWriteBehindBuffer.apply(window.getContent().get(i), transition);
+                    rowKeys.replace("priorityRank", transition.toPriority().rank());
+                    rowKeys.replace("updatedAt", transition.updatedAt());
+                }
+                rows.add(Map.entry(rowKeys, window.getContent().get(i)));
+            }
+            rows.sort(Map.Entry.comparingByKey(keyOrder(sort)));
+            return rows.stream().map(Map.Entry::getValue).toList();
+        });
+    }
+
+    // Keyset page read from the database with the buffered transitions applied; tasks whose pending values
+    // fail `matches` are left out. Which page a task lands on follows its stored row until the next flush
+    private <T> TaskPageDTO<T> page(TaskProjection<T> projection, Specification<Task> filter,
+                                    Predicate<TaskWriteBehindBuffer.Transition> matches, String cursor, Limit limit, Sort sort) {
+        return writeBehind.read(waiting -> {
+            Window<T> window = taskRepo.findProjected(projection, filter, TaskCursor.decode(cursor, sort), limit, sort);
+            String nextCursor = window.hasNext() && !window.isEmpty()
+                    ? TaskCursor.encode(window.positionAt(window.size() - 1))
+                    : null;
+            return new TaskPageDTO<>(TaskWriteBehindBuffer.apply(window.getContent(), waiting, matches), nextCursor);
+        });
+    }
+}
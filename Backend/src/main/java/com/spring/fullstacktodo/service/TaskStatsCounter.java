@@ -0,0 +1,242 @@
+package com.spring.fullstacktodo.service;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskCountDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// In-memory (status, priority) counters per board kept up to date by TaskService,
+// so the dashboard stats do not need a database round trip. Each board is loaded on its first read,
+// from the stored rows plus the transitions waiting in the write-behind buffer. Writes report their
+// changes inside their transaction; the counters only move once it commits
+@Component
+public class TaskStatsCounter {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+
+    private final TaskRepo taskRepo;
+    private final TaskWriteBehindBuffer writeBehind;
+    private final boolean enabled;
+    private final Map<Long, Counts> boards = new ConcurrentHashMap<>();
+    // Guards changes to the counters; never held across a query. Writers take it after their commit while
+    // still holding their connection, so waiting for it must not wait for a connection
+    private final ReentrantLock lock = new ReentrantLock();
+    // One grouped query at a time. Not `synchronized`: a virtual thread blocking inside a monitor pins its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Counters of one board
+    private static final class Counts {
+        private final AtomicLongArray values = new AtomicLongArray(STATUSES.length * PRIORITIES.length);
+        private volatile boolean loaded;
+        // Writes that reported a change whose transaction has not completed yet, and those that completed
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+    }
+
+    public TaskStatsCounter(TaskRepo taskRepo, TaskWriteBehindBuffer writeBehind,
+                            @Value("${tasks.stats.cache-enabled:true}") boolean enabled) {
+        this.taskRepo = taskRepo;
+        this.writeBehind = writeBehind;
+        this.enabled = enabled;
+    }
+
+    // Current stats of the current board, from the counters when enabled or from the grouped query otherwise
+    public TaskStatsDTO getStats() {
+        if (!enabled) {
+            return toStats(countsFromDatabase());
+        }
+        Counts counts = boards.computeIfAbsent(BoardContext.current(), board -> new Counts());
+        return toStats(counts.loaded ? snapshot(counts) : reload(counts));
+    }
+
+    public void taskCreated(Task task) {
+        add(task.getStatus(), task.getPriority(), 1);
+    }
+
+    public void taskDeleted(Task.TaskStatus status, Task.TaskPriority priority) {
+        add(status, priority, -1);
+    }
+
+    public void taskChanged(Task.TaskStatus oldStatus, Task.TaskPriority oldPriority, Task task) {
+        taskChanged(oldStatus, oldPriority, task.getStatus(), task.getPriority());
+    }
+
+    public void taskChanged(Task.TaskStatus oldStatus, Task.TaskPriority oldPriority,
+                            Task.TaskStatus newStatus, Task.TaskPriority newPriority) {
+        if (oldStatus != newStatus || oldPriority != newPriority) {
+            onCommit(counts -> move(counts, oldStatus, oldPriority, newStatus, newPriority));
+        }
+    }
+
+    // Runs `buffer`, which makes a transition visible without a transaction (TaskWriteBehindBuffer.add), and
+    // moves the counters by the transition it returns (null for none). It is a pending write while it runs
+    public TaskWriteBehindBuffer.Transition transitionBuffered(Supplier<TaskWriteBehindBuffer.Transition> buffer) {
+        if (!enabled) {
+            return buffer.get();
+        }
+        Counts counts = begin();
+        TaskWriteBehindBuffer.Transition transition = null;
+        try {
+            transition = buffer.get();
+        } finally {
+            TaskWriteBehindBuffer.Transition applied = transition;
+            complete(counts, applied == null ? null
+                    : moved -> move(moved, applied.fromStatus(), applied.fromPriority(), applied.toStatus(), applied.toPriority()));
+        }
+        return transition;
+    }
+
+    public void statusCleared(Task.TaskStatus status) {
+        onCommit(counts -> {
+            for (Task.TaskPriority priority : PRIORITIES) {
+                counts.values.set(index(status, priority), 0);
+            }
+        });
+    }
+
+    // Every count is known to be zero, unless other writes are still completing
+    public void allTasksDeleted() {
+        onCommit(counts -> {
+            for (int i = 0; i < counts.values.length(); i++) {
+                counts.values.set(i, 0);
+            }
+            counts.loaded = counts.pending.get() == 0;
+        });
+    }
+
+    // Drop the current board's counters; its next read reloads them with the grouped query
+    public void invalidate() {
+        onCommit(counts -> counts.loaded = false);
+    }
+
+    // Runs on the board of `counts`, so the grouped query only counts that board. The result is only kept when
+    // no write was in flight: one that completed during the query may be missing from it with its change already
+    // spent, one still pending may be in it with its change still to come. Until writes settle, reads get the
+    // query's result without it being kept
+    private long[] reload(Counts counts) {
+        reloadLock.lock();
+        try {
+            if (counts.loaded) {
+                return snapshot(counts);
+            }
+            long completedBefore = counts.completed.get();
+            long[] fresh = countsFromDatabase();
+            lock.lock();
+            try {
+                if (counts.completed.get() == completedBefore && counts.pending.get() == 0) {
+                    for (int i = 0; i < fresh.length; i++) {
+                        counts.values.set(i, fresh[i]);
+                    }
+                    counts.loaded = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return fresh;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void add(Task.TaskStatus status, Task.TaskPriority priority, long delta) {
+        onCommit(counts -> {
+            if (counts.loaded) {
+                counts.values.addAndGet(index(status, priority), delta);
+            }
+        });
+    }
+
+    private static void move(Counts counts, Task.TaskStatus oldStatus, Task.TaskPriority oldPriority,
+                             Task.TaskStatus newStatus, Task.TaskPriority newPriority) {
+        if (counts.loaded) {
+            counts.values.decrementAndGet(index(oldStatus, oldPriority));
+            counts.values.incrementAndGet(index(newStatus, newPriority));
+        }
+    }
+
+    // Applies a write's change to the current board's counters once its transaction commits (right away without
+    // one); the write is pending from now until its transaction completes
+    private void onCommit(Consumer<Counts> change) {
+        if (!enabled) {
+            return;
+        }
+        Counts counts = begin();
+        TaskChangeListener.afterCompletion(committed -> complete(counts, committed ? change : null));
+    }
+
+    // The current board's counters, with one more write pending on them
+    private Counts begin() {
+        Counts counts = boards.computeIfAbsent(BoardContext.current(), board -> new Counts());
+        counts.pending.incrementAndGet();
+        return counts;
+    }
+
+    // Ends a pending write, applying its change (null for none) under the counters' lock
+    private void complete(Counts counts, Consumer<Counts> change) {
+        lock.lock();
+        try {
+            counts.pending.decrementAndGet();
+            counts.completed.incrementAndGet();
+            if (change != null) {
+                change.accept(counts);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long[] snapshot(Counts counts) {
+        long[] snapshot = new long[counts.values.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.values.get(i);
+        }
+        return snapshot;
+    }
+
+    // Grouped query, with the board's pending write-behind transitions moved to their new cells
+    private long[] countsFromDatabase() {
+        return writeBehind.read(waiting -> {
+            long[] result = new long[STATUSES.length * PRIORITIES.length];
+            for (TaskCountDTO row : taskRepo.countByStatusAndPriority()) {
+                result[index(row.getStatus(), row.getPriority())] = row.getCount();
+            }
+            waiting.values().forEach(transition -> {
+                result[index(transition.fromStatus(), transition.fromPriority())]--;
+                result[index(transition.toStatus(), transition.toPriority())]++;
+            });
+            return result;
+        });
+    }
+
+    private static int index(Task.TaskStatus status, Task.TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    private static TaskStatsDTO toStats(long[] values) {
+        Map<Task.TaskStatus, Long> byStatus = new EnumMap<>(Task.TaskStatus.class);
+        Map<Task.TaskPriority, Long> byPriority = new EnumMap<>(Task.TaskPriority.class);
+        long total = 0;
+        for (Task.TaskStatus status : STATUSES) {
+            for (Task.TaskPriority priority : PRIORITIES) {
+                long value = values[index(status, priority)];
+                byStatus.merge(status, value, Long::sum);
+                byPriority.merge(priority, value, Long::sum);
+                total += value;
+            }
+        }
+        return new TaskStatsDTO(total, byStatus, byPriority);
+    }
+}
@@ -0,0 +1,100 @@
+package com.spring.fullstacktodo.service;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Per-board change counter: bumped by every write through TaskService.
+// Collection ETags are built from it, so an unchanged counter means every list of that board is unchanged;
+// writes on one board leave the ETags of the others alone.
+// The counter is the board's row in task_board_versions, shared by every instance: a transaction that writes
+// a board bumps it right before it commits, so no instance reads the new tasks with the old version and the
+// row is only locked for the commit. Transitions in this instance's write-behind buffer are only visible here
+// until they are flushed (the flush bumps the row), so they add a part of this instance to the version
+@Component
+@RequiredArgsConstructor
+public class TaskVersionTracker implements TaskChangeListener {
+    // Differs per process so the buffered parts of two instances (or two runs) never produce the same ETag
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Long, AtomicLong> buffered = new ConcurrentHashMap<>();
+    private final TaskRepo taskRepo;
+
+    // Transaction resource marking a board whose version the transaction bumps on commit
+    private record BoardBump(long board) {
+    }
+
+    // Version of the current board
+    public String currentVersion() {
+        long board = BoardContext.current();
+        long version = taskRepo.findBoardVersion(board).orElse(0L);
+        AtomicLong local = buffered.get(board);
+        return local != null ? version + "-" + instanceId + "." + local.get() : Long.toString(version);
+    }
+
+    @Override
+    public void tasksSaved(Collection<Task> tasks) {
+        long current = BoardContext.current();
+        // Saved tasks know their board, which matters for writes made across boards
+        bump(tasks.stream().map(task -> task.getBoardId() != null ? task.getBoardId() : current).collect(Collectors.toSet()));
+    }
+
+    @Override
+    public void tasksTransitioned(Collection<Long> ids, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt) {
+        bump(Set.of(BoardContext.current()));
+    }
+
+    @Override
+    public void tasksDeleted(Collection<Long> ids) {
+        bump(Set.of(BoardContext.current()));
+    }
+
+    @Override
+    public void tasksDeletedByStatus(Task.TaskStatus status) {
+        bump(Set.of(BoardContext.current()));
+    }
+
+    @Override
+    public void allTasksDeleted() {
+        bump(Set.of(BoardContext.current()));
+    }
+
+    // Once per board and transaction, however many writes it makes there
+    private void bump(Set<Long> boards) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Only the write-behind buffer writes outside a transaction
+            boards.forEach(board -> buffered.computeIfAbsent(board, key -> new AtomicLong()).incrementAndGet());
+            return;
+        }
+        for (long board : boards) {
+            BoardBump bump = new BoardBump(board);
+            if (TransactionSynchronizationManager.hasResource(bump)) {
+                continue;
+            }
+            TransactionSynchronizationManager.bindResource(bump, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    taskRepo.bumpBoardVersion(board);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(bump);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.spring.fullstacktodo.service;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskSummaryDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Optional write-behind for status/priority transitions (tasks.write-behind.enabled). A card dragged across
+// columns several times a second costs one UPDATE instead of one per move: transitions are coalesced per task
+// (last write wins per field) and flushed every flush-interval, or once max-pending tasks are waiting, as one
+// set-based UPDATE per distinct (status, priority, transition count). A flush bumps each version by the number
+// of transitions it absorbed, so versions, ETags and the change feed look the same as without the buffer.
+// Pending transitions are flushed on shutdown; a crash loses at most the last interval. Entries remember
+// the board they were made on; a flush writes every board's entries (ids are unique across boards).
+// Reads never flush: they combine the stored rows with the pending entries (read), and the stats counters
+// take each transition's move when it is buffered.
+// tasks.write-behind.transitions / tasks.write-behind.statements count what came in and what went out
+@Slf4j
+@Component
+public class TaskWriteBehindBuffer {
+    private final TaskRepo taskRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxPending;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    // Readers hold the read lock while combining a row with its pending transitions; a flush holds the write
+    // lock from its UPDATE until the flushed entries are dropped, so no reader counts a transition twice
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Counter transitions;
+    private final Counter statements;
+
+    // Status and priority a task is stored with and the ones it has once its pending transitions are written
+    public record Transition(Task.TaskStatus fromStatus, Task.TaskPriority fromPriority,
+                             Task.TaskStatus toStatus, Task.TaskPriority toPriority, int transitions, LocalDateTime updatedAt) {
+    }
+
+    // Coalesced transitions of one task on top of the status and priority it is stored with; a null field
+    // is left unchanged
+    private record Pending(long board, Task.TaskStatus storedStatus, Task.TaskPriority storedPriority,
+                           Task.TaskStatus status, Task.TaskPriority priority, int transitions, LocalDateTime updatedAt) {
+
+        Pending then(Task.TaskStatus nextStatus, Task.TaskPriority nextPriority, LocalDateTime at) {
+            return new Pending(board, storedStatus, storedPriority, nextStatus != null ? nextStatus : status,
+                    nextPriority != null ? nextPriority : priority, transitions + 1, at);
+        }
+
+        // What is left once `flushed`, an earlier state of this entry, is in the database
+        Pending after(Pending flushed) {
+            return new Pending(board, flushed.pendingStatus(), flushed.pendingPriority(), status, priority,
+                    transitions - flushed.transitions, updatedAt);
+        }
+
+        Task.TaskStatus pendingStatus() {
+            return status != null ? status : storedStatus;
+        }
+
+        Task.TaskPriority pendingPriority() {
+            return priority != null ? priority : storedPriority;
+        }
+
+        Transition transition() {
+            return new Transition(storedStatus, storedPriority, pendingStatus(), pendingPriority(), transitions, updatedAt);
+        }
+    }
+
+    // Tasks written by the same UPDATE statement
+    private record Group(Task.TaskStatus status, Task.TaskPriority priority, int transitions) {
+    }
+
+    public TaskWriteBehindBuffer(TaskRepo taskRepo, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                                 @Value("${tasks.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                 @Value("${tasks.write-behind.max-pending:500}") int maxPending) {
+        this.taskRepo = taskRepo;
+        // Its own transaction: a flush must not be rolled back with whatever the caller does next
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.transitions = meterRegistry.counter("tasks.write-behind.transitions");
+        this.statements = meterRegistry.counter("tasks.write-behind.statements");
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("task-write-behind").daemon().factory());
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Buffer a transition made at `updatedAt` on the current board; null fields keep the current (or already
+    // pending) value. Only a task's first pending transition reads its row, with `loader`. Returns this
+    // transition's move (from the values before it), or null if the task does not exist on the current board
+    public Transition add(Long id, Task.TaskStatus status, Task.TaskPriority priority, LocalDateTime updatedAt,
+                          Function<Long, Optional<TaskResponseDTO>> loader) {
+        long board = BoardContext.current();
+        Transition[] move = new Transition[1];
+        while (move[0] == null) {
+            Pending waiting = pending.get(id);
+            TaskResponseDTO stored = null;
+            if (waiting == null) {
+                stored = loader.apply(id).orElse(null);
+                if (stored == null) {
+                    return null;
+                }
+            } else if (waiting.board() != board) {
+                return null;
+            }
+            TaskResponseDTO row = stored;
+            pending.compute(id, (key, current) -> {
+                Pending before = current != null ? current
+                        : row != null ? new Pending(board, row.getStatus(), row.getPriority(), null, null, 0, null) : null;
+                // Flushed since it was looked up: read the row again
+                if (before == null) {
+                    return null;
+                }
+                Pending after = before.then(status, priority, updatedAt);
+                move[0] = new Transition(before.pendingStatus(), before.pendingPriority(),
+                        after.pendingStatus(), after.pendingPriority(), 1, updatedAt);
+                return after;
+            });
+        }
+        transitions.increment();
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+        return move[0];
+    }
+
+    // A task as stored plus its pending transitions
+    public Optional<TaskResponseDTO> read(Long id, Function<Long, Optional<TaskResponseDTO>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        lock.readLock().lock();
+        try {
+            Optional<TaskResponseDTO> task = loader.apply(id);
+            Pending waiting = pending.get(id);
+            return waiting == null ? task : task.map(dto -> apply(dto, waiting.transition()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs `reader` with the current board's pending transitions by task id. No flush runs meanwhile, so
+    // none of them is in what `reader` loads from the database yet
+    public <T> T read(Function<Map<Long, Transition>, T> reader) {
+        if (!enabled) {
+            return reader.apply(Map.of());
+        }
+        lock.readLock().lock();
+        try {
+            long board = BoardContext.current();
+            Map<Long, Transition> waiting = new HashMap<>();
+            pending.forEach((id, entry) -> {
+                if (entry.board() == board) {
+                    waiting.put(id, entry.transition());
+                }
+            });
+            return reader.apply(waiting);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rows read inside `read` with the pending values applied; rows whose pending status or priority fails
+    // `matches` (the filter they were read with) are left out. Sparse rows without an id are kept as stored
+    public static <T> List<T> apply(List<T> rows, Map<Long, Transition> waiting, Predicate<Transition> matches) {
+        if (waiting.isEmpty()) {
+            return rows;
+        }
+        List<T> result = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            Transition transition = waiting.get(idOf(row));
+            if (transition == null) {
+                result.add(row);
+            } else if (matches.test(transition)) {
+                result.add(apply(row, transition));
+            }
+        }
+        return result;
+    }
+
+    // `row` (a TaskResponseDTO, TaskSummaryDTO or sparse field map) with the pending values set
+    @SuppressWarnings("unchecked")
+    public static <T> T apply(T row, Transition transition) {
+        if (row instanceof TaskResponseDTO task) {
+            task.setStatus(transition.toStatus());
+            task.setPriority(transition.toPriority());
+            task.setUpdatedAt(transition.updatedAt());
+            task.setVersion(task.getVersion() + transition.transitions());
+        } else if (row instanceof TaskSummaryDTO summary) {
+            summary.setStatus(transition.toStatus());
+            summary.setPriority(transition.toPriority());
+            summary.setUpdatedAt(transition.updatedAt());
+        } else if (row instanceof Map<?, ?> map) {
+            Map<String, Object> fields = (Map<String, Object>) map;
+            fields.replace("status", transition.toStatus());
+            fields.replace("priority", transition.toPriority());
+            fields.replace("updatedAt", transition.updatedAt());
+            fields.computeIfPresent("version", (field, version) -> (Long) version + transition.transitions());
+        }
+        return row;
+    }
+
+    private static Long idOf(Object row) {
+        if (row instanceof TaskResponseDTO task) {
+            return task.getId();
+        }
+        if (row instanceof TaskSummaryDTO summary) {
+            return summary.getId();
+        }
+        return row instanceof Map<?, ?> fields ? (Long) fields.get("id") : null;
+    }
+
+    // Write every pending transition. Callers that write tasks in the database call this first, outside of
+    // any transaction of their own (the flush would wait for row locks they hold)
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, Pending> flushed = Map.copyOf(pending);
+            Map<Group, List<Long>> groups = new HashMap<>();
+            flushed.forEach((id, entry) -> groups.computeIfAbsent(
+                    new Group(entry.status(), entry.priority(), entry.transitions()), group -> new ArrayList<>()).add(id));
+            LocalDateTime now = Task.currentTimestamp();
+            BoardContext.acrossBoards(() -> transactionTemplate.executeWithoutResult(status -> {
+                groups.forEach((group, ids) -> {
+                    Short rank = group.priority() == null ? null : group.priority().rank();
+                    taskRepo.applyBufferedTransitions(ids, group.status(), group.priority(), rank, now, group.transitions());
+                    statements.increment();
+                });
+                // Other instances see the transitions from now on (see TaskVersionTracker)
+                flushed.values().stream().map(Pending::board).distinct().forEach(taskRepo::bumpBoardVersion);
+            }));
+            // Transitions added while the UPDATEs ran stay pending, minus what was just written
+            flushed.forEach((id, entry) -> pending.computeIfPresent(id, (key, current) -> current == entry ? null : current.after(entry)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    // Background flushes keep their entries on failure and try again on the next tick
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of {} tasks failed, retrying on the next interval", pending.size(), e);
+        }
+    }
+}
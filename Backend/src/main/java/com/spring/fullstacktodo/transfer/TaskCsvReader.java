@@ -0,0 +1,85 @@
+package com.spring.fullstacktodo.transfer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader, one record per next() call; quoted fields may hold commas, doubled
+// quotes and line breaks. The inverse of TaskCsvWriter: an unquoted empty field reads as null
+final class TaskCsvReader {
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    TaskCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Line the last record returned by next() started on
+    long recordLine() {
+        return recordLine;
+    }
+
+    // The next record, or null at the end of the input
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',' || c == '\n' || c == -1) {
+                fields.add(wasQuoted || !field.isEmpty() ? field.toString() : null);
+                field.setLength(0);
+                wasQuoted = false;
+                if (c != ',') {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    return fields;
+                }
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
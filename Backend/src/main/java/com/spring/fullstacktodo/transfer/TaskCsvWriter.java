@@ -0,0 +1,44 @@
+package com.spring.fullstacktodo.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// RFC 4180 records: fields with a comma, quote or line break are quoted, null is written as an
+// empty field and the empty string as "" so the two survive a round trip
+final class TaskCsvWriter {
+    private final Writer writer;
+
+    TaskCsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.isEmpty() || needsQuotes(field)) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static boolean needsQuotes(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.spring.fullstacktodo.transfer;
+
+import com.spring.fullstacktodo.exception.InvalidTaskQueryException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Line-oriented formats of /api/tasks/export and /api/tasks/import
+public enum TaskTransferFormat {
+    // One TaskResponseDTO JSON object per line
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    // RFC 4180 with a header row; an empty field is null, "" is an empty string
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TaskTransferFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TaskTransferFormat of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTaskQueryException("Unknown format: " + name + " (use ndjson or csv)");
+        }
+    }
+}
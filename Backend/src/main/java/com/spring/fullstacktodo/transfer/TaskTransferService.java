@@ -0,0 +1,311 @@
+package com.spring.fullstacktodo.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskImportResultDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.exception.InvalidTaskImportException;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.service.TaskChangeListener;
+import com.spring.fullstacktodo.service.TaskStatsCounter;
+import com.spring.fullstacktodo.service.TaskWriteBehindBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Bulk moves of the tasks table in constant memory. Export reads one forward-only cursor (fetch-size rows
+// per round trip) and writes each row to the response as it arrives; nothing is collected in a list.
+// Import parses the upload record by record and inserts import-batch-size tasks per transaction through
+// the same batched path as POST /api/tasks/batch, so a bad record only loses its own batch.
+// tasks.transfer.rows{direction=export|import} counts rows as they go, which doubles as progress
+@Slf4j
+@Service
+public class TaskTransferService {
+    // Plain JDBC is not scoped by Hibernate, so the board is explicit; it keeps the scan to one partition
+    private static final String EXPORT_QUERY = "SELECT id, title, description, status, priority, created_at, updated_at, version FROM tasks "
+            + "WHERE board_id = ? ORDER BY id";
+    private static final String[] CSV_COLUMNS = {"id", "title", "description", "status", "priority", "createdAt", "updatedAt", "version"};
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    private final EntityManager entityManager;
+    private final TaskRepo taskRepo;
+    private final TaskStatsCounter taskStatsCounter;
+    private final TaskWriteBehindBuffer writeBehind;
+    private final List<TaskChangeListener> taskChangeListeners;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int importBatchSize;
+    private final Counter exportedRows;
+    private final Counter importedRows;
+
+    public TaskTransferService(EntityManager entityManager, TaskRepo taskRepo, TaskStatsCounter taskStatsCounter,
+                               TaskWriteBehindBuffer writeBehind, List<TaskChangeListener> taskChangeListeners,
+                               ObjectMapper objectMapper, DataSource dataSource, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${tasks.transfer.export-fetch-size:1000}") int exportFetchSize,
+                               @Value("${tasks.transfer.import-batch-size:1000}") int importBatchSize) {
+        this.entityManager = entityManager;
+        this.taskRepo = taskRepo;
+        this.taskStatsCounter = taskStatsCounter;
+        this.writeBehind = writeBehind;
+        this.taskChangeListeners = taskChangeListeners;
+        this.objectMapper = objectMapper;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(exportFetchSize);
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers the whole result
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.importBatchSize = importBatchSize;
+        this.exportedRows = meterRegistry.counter("tasks.transfer.rows", "direction", "export");
+        this.importedRows = meterRegistry.counter("tasks.transfer.rows", "direction", "import");
+    }
+
+    // Write every task, ordered by id, to `out`
+    public void exportTasks(TaskTransferFormat format, OutputStream out) throws IOException {
+        writeBehind.flush();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        SequenceWriter json = format == TaskTransferFormat.NDJSON
+                ? objectMapper.writerFor(TaskResponseDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .withRootValueSeparator("\n").writeValues(writer)
+                : null;
+        TaskCsvWriter csv = format == TaskTransferFormat.CSV ? new TaskCsvWriter(writer) : null;
+        if (csv != null) {
+            csv.write(CSV_COLUMNS);
+        }
+        long[] written = {0};
+        long board = BoardContext.current();
+        try {
+            readTransaction.executeWithoutResult(status -> cursorTemplate.query(EXPORT_QUERY, (ResultSet row) -> {
+                try {
+                    if (json != null) {
+                        json.write(toResponse(row));
+                    } else {
+                        writeCsv(csv, row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+                exportedRows.increment();
+            }, board));
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor is closed with the transaction
+            throw e.getCause();
+        }
+        if (json != null) {
+            json.flush();
+            // The separator only goes between records; end the last line too
+            if (written[0] > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // Insert every record of `in` as a new task. Ids and versions in the input are ignored (tasks get fresh
+    // ids); timestamps are kept when present. Missing status/priority default to TODO/MEDIUM
+    public TaskImportResultDTO importTasks(TaskTransferFormat format, InputStream in) throws IOException {
+        Importer importer = new Importer();
+        if (format == TaskTransferFormat.NDJSON) {
+            importNdjson(in, importer);
+        } else {
+            importCsv(in, importer);
+        }
+        importer.commit();
+        log.info("Imported {} tasks in {} batches", importer.imported, importer.batches);
+        return new TaskImportResultDTO(importer.imported, importer.batches);
+    }
+
+    private void importNdjson(InputStream in, Importer importer) throws IOException {
+        try (MappingIterator<TaskResponseDTO> records = objectMapper.readerFor(TaskResponseDTO.class).readValues(in)) {
+            while (true) {
+                long line = records.getCurrentLocation().getLineNr();
+                TaskResponseDTO record;
+                try {
+                    if (!records.hasNextValue()) {
+                        return;
+                    }
+                    line = records.getCurrentLocation().getLineNr();
+                    record = records.nextValue();
+                } catch (JsonProcessingException e) {
+                    throw new InvalidTaskImportException(line, e.getOriginalMessage(), importer.imported);
+                } catch (RuntimeJsonMappingException e) {
+                    throw new InvalidTaskImportException(line, e.getMessage(), importer.imported);
+                }
+                importer.add(line, record.getTitle(), record.getDescription(), record.getStatus(), record.getPriority(),
+                        record.getCreatedAt(), record.getUpdatedAt());
+            }
+        }
+    }
+
+    private void importCsv(InputStream in, Importer importer) throws IOException {
+        TaskCsvReader records = new TaskCsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = records.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i) != null) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+        if (!columns.containsKey("title")) {
+            throw new InvalidTaskImportException(records.recordLine(), "header has no title column", 0);
+        }
+        while (true) {
+            List<String> record;
+            try {
+                record = records.next();
+            } catch (IllegalArgumentException e) {
+                throw new InvalidTaskImportException(records.recordLine(), e.getMessage(), importer.imported);
+            }
+            if (record == null) {
+                return;
+            }
+            // Blank line
+            if (record.size() == 1 && record.get(0) == null) {
+                continue;
+            }
+            long line = records.recordLine();
+            try {
+                importer.add(line, field(record, columns, "title"), field(record, columns, "description"),
+                        parseEnum(Task.TaskStatus.class, field(record, columns, "status")),
+                        parseEnum(Task.TaskPriority.class, field(record, columns, "priority")),
+                        parseTime(field(record, columns, "createdAt")), parseTime(field(record, columns, "updatedAt")));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidTaskImportException(line, e.getMessage(), importer.imported);
+            }
+        }
+    }
+
+    // Collects one batch of entities at a time and commits it
+    private final class Importer {
+        private final List<Task> batch = new ArrayList<>(importBatchSize);
+        private long imported;
+        private int batches;
+
+        void add(long line, String title, String description, Task.TaskStatus status, Task.TaskPriority priority,
+                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+            if (title == null || title.isBlank()) {
+                throw new InvalidTaskImportException(line, "title is required", imported);
+            }
+            if (title.length() > MAX_TITLE_LENGTH) {
+                throw new InvalidTaskImportException(line, "title is longer than " + MAX_TITLE_LENGTH + " characters", imported);
+            }
+            if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+                throw new InvalidTaskImportException(line, "description is longer than " + MAX_DESCRIPTION_LENGTH + " characters", imported);
+            }
+            Task.TaskPriority taskPriority = priority != null ? priority : Task.TaskPriority.MEDIUM;
+            batch.add(new Task(null, null, title, description, status != null ? status : Task.TaskStatus.TODO, taskPriority,
+                    taskPriority.rank(), truncate(createdAt), truncate(updatedAt), null));
+            if (batch.size() >= importBatchSize) {
+                commit();
+            }
+        }
+
+        void commit() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            writeTransaction.executeWithoutResult(status -> {
+                taskRepo.saveAll(batch);
+                entityManager.flush();
+                taskChangeListeners.forEach(listener -> listener.tasksSaved(batch));
+                // Nothing from this batch stays in the persistence context
+                entityManager.clear();
+            });
+            taskStatsCounter.invalidate();
+            imported += batch.size();
+            batches++;
+            importedRows.increment(batch.size());
+            log.debug("Import progress: {} tasks in {} batches", imported, batches);
+            batch.clear();
+        }
+    }
+
+    private static TaskResponseDTO toResponse(ResultSet row) throws SQLException {
+        return new TaskResponseDTO(row.getLong("id"), row.getString("title"), row.getString("description"),
+                Task.TaskStatus.valueOf(row.getString("status")), Task.TaskPriority.valueOf(row.getString("priority")),
+                toDateTime(row.getTimestamp("created_at")), toDateTime(row.getTimestamp("updated_at")), row.getLong("version"));
+    }
+
+    private static void writeCsv(TaskCsvWriter csv, ResultSet row) throws SQLException, IOException {
+        csv.write(String.valueOf(row.getLong("id")), row.getString("title"), row.getString("description"),
+                row.getString("status"), row.getString("priority"),
+                format(row.getTimestamp("created_at")), format(row.getTimestamp("updated_at")),
+                String.valueOf(row.getLong("version")));
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown " + type.getSimpleName() + " '" + value + "'");
+        }
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value == null || value.isBlank() ? null : LocalDateTime.parse(value.trim());
+    }
+
+    private static String format(Timestamp timestamp) {
+        return timestamp == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.toLocalDateTime());
+    }
+
+    private static LocalDateTime toDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    // The column keeps microseconds
+    private static LocalDateTime truncate(LocalDateTime time) {
+        return time == null ? null : time.truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.spring.fullstacktodo.util;
+
+import com.spring.fullstacktodo.exception.InvalidCursorException;
+import com.spring.fullstacktodo.model.Task;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+// Encodes keyset scroll positions as opaque, URL-safe cursors ("createdAt=...|id=..." in base64)
+public final class TaskCursor {
+
+    private TaskCursor() {
+    }
+
+    // Turn the position of the last row of a page into a cursor string
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+        StringJoiner joiner = new StringJoiner("|");
+        // Values are URL-encoded so titles cannot break the "|" and "=" separators
+        keyset.getKeys().forEach((key, value) -> joiner.add(key + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Parse a cursor back into a keyset position; a missing cursor means the first page
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (String pair : raw.split("\\|")) {
+                int separator = pair.indexOf('=');
+                if (separator < 0) {
+                    throw new InvalidCursorException(cursor);
+                }
+                String key = pair.substring(0, separator);
+                keys.put(key, parseValue(key, URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8)));
+            }
+            // A cursor is only valid for the ordering it was produced with
+            Set<String> expected = new HashSet<>();
+            sort.forEach(order -> expected.add(order.getProperty()));
+            if (!keys.keySet().equals(expected)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    private static Object parseValue(String key, String value) {
+        return switch (key) {
+            case "id" -> Long.valueOf(value);
+            case "createdAt", "updatedAt" -> LocalDateTime.parse(value);
+            case "priorityRank" -> Short.valueOf(value);
+            case "rank" -> Double.valueOf(value);
+            case "status" -> Task.TaskStatus.valueOf(value);
+            case "title" -> value;
+            default -> throw new IllegalArgumentException("Unknown cursor key: " + key);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.spring.fullstacktodo.util;
+
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+
+// Strong entity tags for tasks and task collections
+public final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    // "<id>.<version>"; the version changes with every write, even two within the same clock tick
+    public static String forTask(TaskResponseDTO task) {
+        return "\"" + task.getId() + "." + task.getVersion() + "\"";
+    }
+
+    public static String forCollection(String version) {
+        return "\"tasks-" + version + "\"";
+    }
+
+    // The version a client last saw, read from the If-Match ETag naming this task; null if none does
+    public static Long expectedVersion(String ifMatch, Long id) {
+        String prefix = "\"" + id + ".";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak tags never match for If-Match (strong comparison)
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
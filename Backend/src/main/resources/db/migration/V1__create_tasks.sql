@@ -0,0 +1,10 @@
+-- Initial schema, as previously generated by Hibernate (ddl-auto=update)
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(255)  NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    priority    VARCHAR(255)  NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
@@ -0,0 +1,20 @@
+-- Pooled id sequence used by Task (allocation size 50), moved past existing ids
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)));
+
+-- Sortable priority: LOW=0, MEDIUM=1, HIGH=2, URGENT=3 (Task.TaskPriority.rank())
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS priority_rank SMALLINT;
+UPDATE tasks SET priority_rank = CASE priority
+    WHEN 'LOW' THEN 0
+    WHEN 'MEDIUM' THEN 1
+    WHEN 'HIGH' THEN 2
+    WHEN 'URGENT' THEN 3
+END;
+ALTER TABLE tasks ALTER COLUMN priority_rank SET NOT NULL;
+
+-- Kanban columns: WHERE status = ? ORDER BY priority_rank DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_tasks_status_priority_rank_id ON tasks (status, priority_rank, id);
+-- Priority filter and priority ordering: WHERE priority_rank = ? ORDER BY created_at / ORDER BY priority_rank, created_at
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_rank_created_at ON tasks (priority_rank, created_at);
+-- Default listing and date ordering: ORDER BY created_at, id
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
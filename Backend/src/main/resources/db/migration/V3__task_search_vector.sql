@@ -0,0 +1,9 @@
+-- Weighted full-text document for /api/tasks/search: title (A) ranks above description (B).
+-- The 'simple' configuration keeps words as typed (no stemming), prefix matching is done with :* queries.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
@@ -0,0 +1,6 @@
+-- Filtering and sorting by last update in GET /api/tasks: updatedFrom/updatedTo, sort=updatedAt
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+-- Title substring match (q=): lower(title) LIKE '%...%' can use a trigram index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
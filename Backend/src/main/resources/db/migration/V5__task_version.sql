@@ -0,0 +1,3 @@
+-- Optimistic locking: every UPDATE checks and increments the version (see Task.version).
+-- Existing rows start at 0; the constant default does not rewrite the table on PostgreSQL 11+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
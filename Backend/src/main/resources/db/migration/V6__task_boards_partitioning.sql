@@ -0,0 +1,71 @@
+-- Boards (tenants): every task belongs to one board. Existing tasks, and everything created under
+-- /api/tasks, are on board 0. The table is rebuilt partitioned by board:
+--   tasks                    PARTITION BY LIST (board_id)
+--     tasks_shared           DEFAULT partition, PARTITION BY HASH (board_id)
+--       tasks_shared_0..15   boards spread by hash
+--     tasks_board_<id>       boards moved out with tasks_isolate_board (below)
+-- Every query carries board_id = ? (Hibernate adds it, see BoardTenantResolver), so the planner prunes
+-- it to the one partition holding the board.
+-- A partitioned table's primary key has to contain the partition key, hence (board_id, id); ids stay
+-- unique because they all come from tasks_seq.
+CREATE TABLE tasks_partitioned (
+    id            BIGINT        NOT NULL,
+    board_id      BIGINT        NOT NULL DEFAULT 0 CHECK (board_id >= 0),
+    title         VARCHAR(255)  NOT NULL,
+    description   VARCHAR(1000),
+    status        VARCHAR(255)  NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE')),
+    priority      VARCHAR(255)  NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT')),
+    priority_rank SMALLINT      NOT NULL,
+    created_at    TIMESTAMP(6)  NOT NULL,
+    updated_at    TIMESTAMP(6),
+    version       BIGINT        NOT NULL DEFAULT 0,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED,
+    PRIMARY KEY (board_id, id)
+) PARTITION BY LIST (board_id);
+
+CREATE TABLE tasks_shared PARTITION OF tasks_partitioned DEFAULT PARTITION BY HASH (board_id);
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE tasks_shared_%s PARTITION OF tasks_shared FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       remainder, remainder);
+    END LOOP;
+END
+$$;
+
+INSERT INTO tasks_partitioned (id, board_id, title, description, status, priority, priority_rank, created_at, updated_at, version)
+SELECT id, 0, title, description, status, priority, priority_rank, created_at, updated_at, version FROM tasks;
+
+DROP TABLE tasks;
+ALTER TABLE tasks_partitioned RENAME TO tasks;
+ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_pkey TO tasks_pkey;
+
+-- The V2-V4 indexes, now led by board_id so a board's pages are range scans within its partition.
+-- Created on the parent, they are created on every partition, present and future
+CREATE INDEX idx_tasks_status_priority_rank_id ON tasks (board_id, status, priority_rank, id);
+CREATE INDEX idx_tasks_priority_rank_created_at ON tasks (board_id, priority_rank, created_at);
+CREATE INDEX idx_tasks_created_at_id ON tasks (board_id, created_at, id);
+CREATE INDEX idx_tasks_updated_at_id ON tasks (board_id, updated_at, id);
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
+CREATE INDEX idx_tasks_title_trgm ON tasks USING GIN (lower(title) gin_trgm_ops);
+-- Work across boards by id only: write-behind flushes (WHERE id IN ...) and the in-memory index rebuilds
+CREATE INDEX idx_tasks_id ON tasks (id);
+
+-- Move one board out of the shared hash partitions into a partition of its own, so a large tenant gets
+-- its own table, indexes and vacuum (and can be given its own tablespace). The shared partitions are
+-- locked while its rows are copied, so run it in a maintenance window:
+--   SELECT tasks_isolate_board(42);
+CREATE FUNCTION tasks_isolate_board(board BIGINT) RETURNS void LANGUAGE plpgsql AS $$
+BEGIN
+    ALTER TABLE tasks DETACH PARTITION tasks_shared;
+    EXECUTE format('CREATE TABLE tasks_board_%s PARTITION OF tasks FOR VALUES IN (%s)', board, board);
+    INSERT INTO tasks (id, board_id, title, description, status, priority, priority_rank, created_at, updated_at, version)
+    SELECT id, board_id, title, description, status, priority, priority_rank, created_at, updated_at, version
+    FROM tasks_shared WHERE board_id = board;
+    DELETE FROM tasks_shared WHERE board_id = board;
+    ALTER TABLE tasks ATTACH PARTITION tasks_shared DEFAULT;
+END
+$$;
@@ -0,0 +1,7 @@
+-- Version of each board's tasks, bumped by every transaction that writes them (see TaskVersionTracker).
+-- Collection ETags are built from it, so every instance behind the load balancer hands out the same ETag
+-- for the same state. A board gets its row on its first write; no row means version 0
+CREATE TABLE task_board_versions (
+    board_id BIGINT NOT NULL PRIMARY KEY,
+    version  BIGINT NOT NULL
+);
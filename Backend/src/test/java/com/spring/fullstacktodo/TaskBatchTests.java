@@ -0,0 +1,143 @@
+package com.spring.fullstacktodo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fullstacktodo.dto.TaskBatchTransitionDTO;
+import com.spring.fullstacktodo.dto.TaskBatchUpdateDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The /batch endpoints: each call commits or fails as a whole, also when it spans several JDBC batches
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchTests {
+    // More than TaskService.BATCH_SIZE, so the last entries are flushed in a second chunk
+    private static final int TASKS = 60;
+    private static final long MISSING_ID = -42;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void createFailsAsAWholeWhenALaterChunkFails() throws Exception {
+        List<TaskRequestDTO> tasks = requests("Imported");
+        send(post("/api/tasks/batch"), tasks)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(TASKS)));
+
+        // The first chunk is flushed before the missing title fails the second
+        List<TaskRequestDTO> failing = requests("Rolled back");
+        failing.add(new TaskRequestDTO(null, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        send(post("/api/tasks/batch"), failing).andExpect(status().isInternalServerError());
+
+        mockMvc.perform(get("/api/tasks/stats")).andExpect(jsonPath("$.total").value(TASKS));
+        mockMvc.perform(get("/api/tasks/search").param("q", "rolled")).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void updateWithAMissingIdChangesNothing() throws Exception {
+        List<TaskResponseDTO> created = taskService.createTasks(requests("Original"));
+        List<TaskBatchUpdateDTO> updates = new ArrayList<>();
+        created.forEach(task -> updates.add(update(task.getId(), "Renamed", null)));
+        updates.add(update(MISSING_ID, "Renamed", null));
+
+        send(put("/api/tasks/batch"), updates)
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Tasks not found with ids: [" + MISSING_ID + "]"));
+
+        // The first chunk was flushed before the second found the missing id, and was rolled back with it
+        mockMvc.perform(get("/api/tasks/{id}", created.get(0).getId()))
+                .andExpect(jsonPath("$.title").value("Original 0"))
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(get("/api/tasks/search").param("q", "renamed")).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void updateWithAStaleVersionConflicts() throws Exception {
+        TaskResponseDTO first = create("First");
+        TaskResponseDTO second = create("Second");
+        taskService.updateTask(second.getId(), new TaskRequestDTO("Second v2", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+
+        send(put("/api/tasks/batch"), List.of(update(first.getId(), "First v2", 0L), update(second.getId(), "Second v3", 0L)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/api/tasks/{id}", first.getId()))
+                .andExpect(jsonPath("$.title").value("First"))
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(get("/api/tasks/{id}", second.getId())).andExpect(jsonPath("$.title").value("Second v2"));
+    }
+
+    @Test
+    void transitionAndDeleteReportWhatTheyAffected() throws Exception {
+        TaskResponseDTO first = create("First");
+        TaskResponseDTO second = create("Second");
+        List<Long> ids = List.of(first.getId(), second.getId(), MISSING_ID);
+
+        send(patch("/api/tasks/batch"), new TaskBatchTransitionDTO(ids, Task.TaskStatus.DONE, null))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+        mockMvc.perform(get("/api/tasks/status/DONE")).andExpect(jsonPath("$", hasSize(2)));
+
+        send(delete("/api/tasks/batch"), ids)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+        send(delete("/api/tasks/batch"), ids)
+                .andExpect(jsonPath("$.affected").value(0));
+        mockMvc.perform(get("/api/tasks/stats")).andExpect(jsonPath("$.total").value(0));
+    }
+
+    private ResultActions send(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body)));
+    }
+
+    private TaskResponseDTO create(String title) {
+        return taskService.createTask(new TaskRequestDTO(title, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+    }
+
+    private static List<TaskRequestDTO> requests(String title) {
+        List<TaskRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            requests.add(new TaskRequestDTO(title + " " + i, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        }
+        return requests;
+    }
+
+    private static TaskBatchUpdateDTO update(long id, String title, Long version) {
+        return new TaskBatchUpdateDTO(id, title, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW, version);
+    }
+}
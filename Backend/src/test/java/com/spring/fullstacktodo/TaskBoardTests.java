@@ -0,0 +1,127 @@
+package com.spring.fullstacktodo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskBatchUpdateDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs with the column index so list reads from it are covered too
+@SpringBootTest(properties = "tasks.index.enabled=true")
+@AutoConfigureMockMvc
+class TaskBoardTests {
+    private static final long BOARD = 7001;
+    private static final long OTHER_BOARD = 7002;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        BoardContext.runOn(BOARD, taskService::deleteAllTasks);
+        BoardContext.runOn(OTHER_BOARD, taskService::deleteAllTasks);
+    }
+
+    @Test
+    void tasksOnlyExistOnTheirBoard() throws Exception {
+        long id = create(BOARD, "Board roadmap", Task.TaskStatus.TODO);
+        create(OTHER_BOARD, "Board retro", Task.TaskStatus.TODO);
+
+        assertThat(BoardContext.acrossBoards(() -> taskRepo.findById(id)))
+                .hasValueSatisfying(task -> assertThat(task.getBoardId()).isEqualTo(BOARD));
+        mockMvc.perform(get("/api/boards/{board}/tasks/{id}", BOARD, id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Board roadmap"));
+        mockMvc.perform(get("/api/boards/{board}/tasks/{id}", OTHER_BOARD, id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/boards/{board}/tasks/{id}", OTHER_BOARD, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/boards/{board}/tasks/{id}", OTHER_BOARD, id)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/boards/{board}/tasks/status/TODO", BOARD))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(id));
+        mockMvc.perform(get("/api/boards/{board}/tasks/search", BOARD).param("q", "board"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(id));
+        mockMvc.perform(get("/api/boards/{board}/tasks/stats", BOARD))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.byStatus.TODO").value(1));
+    }
+
+    @Test
+    void bulkDeletesStayOnTheirBoard() throws Exception {
+        create(BOARD, "Ship it", Task.TaskStatus.DONE);
+        long kept = create(OTHER_BOARD, "Shipped elsewhere", Task.TaskStatus.DONE);
+
+        mockMvc.perform(delete("/api/boards/{board}/tasks/completed", BOARD)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/boards/{board}/tasks/stats", BOARD)).andExpect(jsonPath("$.total").value(0));
+        mockMvc.perform(get("/api/boards/{board}/tasks/status/DONE", OTHER_BOARD))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(kept));
+    }
+
+    @Test
+    void writesOnlyChangeTheirBoardsVersion() throws Exception {
+        long id = create(BOARD, "Versioned", Task.TaskStatus.TODO);
+        String board = BoardContext.callOn(BOARD, taskService::getCollectionVersion);
+        String otherBoard = BoardContext.callOn(OTHER_BOARD, taskService::getCollectionVersion);
+
+        // Entity updates (PUT and batch) carry the board as partition key
+        mockMvc.perform(put("/api/boards/{board}/tasks/{id}", BOARD, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO("Renamed", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH, 0L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        BoardContext.runOn(BOARD, () -> taskService.updateTasks(List.of(
+                new TaskBatchUpdateDTO(id, "Renamed again", null, Task.TaskStatus.DONE, Task.TaskPriority.HIGH, 1L))));
+
+        assertThat(BoardContext.callOn(BOARD, taskService::getCollectionVersion)).isNotEqualTo(board);
+        assertThat(BoardContext.callOn(OTHER_BOARD, taskService::getCollectionVersion)).isEqualTo(otherBoard);
+        mockMvc.perform(get("/api/boards/{board}/tasks/{id}", BOARD, id))
+                .andExpect(jsonPath("$.title").value("Renamed again"))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    private long create(long board, String title, Task.TaskStatus taskStatus) throws Exception {
+        String body = mockMvc.perform(post("/api/boards/{board}/tasks", board)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequestDTO(title, null, taskStatus, Task.TaskPriority.MEDIUM))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+}
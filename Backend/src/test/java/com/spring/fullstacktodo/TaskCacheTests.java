@@ -0,0 +1,60 @@
+package com.spring.fullstacktodo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.spring.fullstacktodo.config.CacheConfig;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TaskCacheTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+    }
+
+    @Test
+    void callersCannotChangeCachedTasks() {
+        TaskResponseDTO created = taskService.createTask(new TaskRequestDTO("Cached", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+
+        taskService.getTaskById(created.getId()).orElseThrow().setTitle("Changed by a caller");
+        List<TaskResponseDTO> todo = taskService.getTasksByStatus(Task.TaskStatus.TODO);
+        todo.get(0).setStatus(Task.TaskStatus.DONE);
+
+        assertThat(taskService.getTaskById(created.getId())).hasValueSatisfying(task -> assertThat(task.getTitle()).isEqualTo("Cached"));
+        assertThat(taskService.getTasksByStatus(Task.TaskStatus.TODO)).singleElement()
+                .satisfies(task -> assertThat(task.getStatus()).isEqualTo(Task.TaskStatus.TODO));
+        assertThatThrownBy(() -> taskService.getTasksByStatus(Task.TaskStatus.TODO).clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void listsWeighAsManyTasksAsTheyHold() {
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(new TaskRequestDTO("Weighed " + i, null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW));
+        }
+        taskService.getTasksByStatus(Task.TaskStatus.IN_PROGRESS);
+
+        Cache<Object, Object> byStatus = ((CaffeineCache) cacheManager.getCache(CacheConfig.TASKS_BY_STATUS)).getNativeCache();
+        byStatus.cleanUp();
+        assertThat(byStatus.policy().eviction().orElseThrow().weightedSize()).hasValue(5);
+    }
+}
@@ -0,0 +1,62 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskChangeDTO;
+import com.spring.fullstacktodo.dto.TaskChangesDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskChangeFeedTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void changesAreReturnedInCommitOrder() {
+        String cursor = taskService.getChangesSince(null, 100).getCursor();
+
+        TaskResponseDTO task = taskService.createTask(new TaskRequestDTO("Ship it", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+        taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.DONE, null));
+        taskService.deleteTask(task.getId());
+
+        TaskChangesDTO changes = taskService.getChangesSince(cursor, 100);
+        assertThat(changes.getChanges()).extracting(TaskChangeDTO::getType)
+                .containsExactly(TaskChangeDTO.Type.UPSERT, TaskChangeDTO.Type.PATCH, TaskChangeDTO.Type.DELETE);
+        assertThat(changes.getChanges()).extracting(TaskChangeDTO::getId).containsOnly(task.getId());
+        assertThat(changes.getChanges().get(0).getTask().getTitle()).isEqualTo("Ship it");
+        assertThat(changes.getChanges().get(1).getStatus()).isEqualTo(Task.TaskStatus.DONE);
+
+        // Resuming from the returned cursor yields nothing new
+        assertThat(taskService.getChangesSince(changes.getCursor(), 100).getChanges()).isEmpty();
+    }
+
+    @Test
+    void limitSplitsChangesIntoPages() {
+        String cursor = taskService.getChangesSince(null, 100).getCursor();
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(new TaskRequestDTO("Task " + i, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        }
+
+        TaskChangesDTO first = taskService.getChangesSince(cursor, 2);
+        assertThat(first.getChanges()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+        TaskChangesDTO second = taskService.getChangesSince(first.getCursor(), 2);
+        assertThat(second.getChanges()).hasSize(1);
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void unknownCursorAsksForReset() {
+        assertThat(taskService.getChangesSince("elsewhere.42", 100).getChanges())
+                .extracting(TaskChangeDTO::getType)
+                .containsExactly(TaskChangeDTO.Type.RESET);
+    }
+}
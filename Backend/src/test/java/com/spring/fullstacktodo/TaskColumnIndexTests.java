@@ -0,0 +1,111 @@
+package com.spring.fullstacktodo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.index.TaskColumnIndex;
+import com.spring.fullstacktodo.index.TaskRows;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskProjection;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.repository.TaskSpecifications;
+import com.spring.fullstacktodo.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "tasks.index.enabled=true")
+class TaskColumnIndexTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskColumnIndex taskColumnIndex;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskResponseDTO first;
+    private TaskResponseDTO second;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        first = taskService.createTask(new TaskRequestDTO("Ünïcode ✓ title", "Has \"quotes\"", Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+        second = taskService.createTask(new TaskRequestDTO("No description", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        taskService.createTask(new TaskRequestDTO("Done already", "x", Task.TaskStatus.DONE, Task.TaskPriority.URGENT));
+    }
+
+    @Test
+    void answersListsLikeTheDatabase() throws Exception {
+        assertThat(taskColumnIndex.isReady()).isTrue();
+        Sort byPriority = Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+        List<TaskResponseDTO> ordered = taskService.getAllTasksOrderedByPriority();
+
+        assertThat(ordered).isInstanceOf(TaskRows.class);
+        assertThat(json(ordered)).isEqualTo(json(fromDatabase(TaskProjection.RESPONSE, null, byPriority)));
+        assertThat(json(taskService.getTaskSummaries(Task.TaskStatus.TODO))).isEqualTo(json(fromDatabase(TaskProjection.SUMMARY,
+                TaskSpecifications.hasStatus(List.of(Task.TaskStatus.TODO)), Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.desc("id")))));
+        assertThat(ordered.get(0).getTitle()).isEqualTo("Done already");
+    }
+
+    @Test
+    void followsTransitionsAndDeletes() throws Exception {
+        taskService.markTaskAsCompleted(first.getId());
+        taskService.deleteTask(second.getId());
+
+        List<TaskResponseDTO> all = taskService.getAllTasks();
+
+        assertThat(all).extracting(TaskResponseDTO::getStatus).containsOnly(Task.TaskStatus.DONE);
+        assertThat(json(all)).isEqualTo(json(fromDatabase(TaskProjection.RESPONSE, null,
+                Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id")))));
+    }
+
+    // Rewrites far more text than the initial 64 KB arena holds, so appends compact it while rows are replaced
+    @Test
+    void keepsTextThroughArenaCompactions() {
+        TaskColumnIndex index = new TaskColumnIndex(taskRepo, new SimpleMeterRegistry(), true);
+        Random random = new Random(7);
+        Map<Long, String> descriptions = new HashMap<>();
+        for (int save = 0; save < 10_000; save++) {
+            long id = 1 + random.nextInt(20);
+            String description = "d".repeat(random.nextInt(1001));
+            index.tasksSaved(List.of(new Task(id, BoardContext.DEFAULT_BOARD, "t".repeat(1 + random.nextInt(255)), description,
+                    Task.TaskStatus.TODO, Task.TaskPriority.LOW, Task.TaskPriority.LOW.rank(), LocalDateTime.now(), null, 0L)));
+            descriptions.put(id, description);
+        }
+
+        List<TaskResponseDTO> rows = index.query(null, null, Sort.by("id"), false);
+
+        assertThat(rows).hasSize(20);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getDescription()).isEqualTo(descriptions.get(row.getId())));
+    }
+
+    private <T> List<T> fromDatabase(TaskProjection<T> projection, Specification<Task> filter, Sort sort) {
+        return taskRepo.findProjected(projection, filter, ScrollPosition.keyset(), Limit.unlimited(), sort).getContent();
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,103 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskConcurrencyTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    private TaskResponseDTO task;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        task = taskService.createTask(new TaskRequestDTO("Contended", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+    }
+
+    @Test
+    void everyWriteBumpsTheVersion() {
+        assertThat(task.getVersion()).isZero();
+        taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.IN_PROGRESS, null));
+        TaskResponseDTO updated = taskService.updateTask(task.getId(),
+                new TaskRequestDTO("Renamed", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW));
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(taskService.getTaskById(task.getId()).orElseThrow().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void staleVersionInTheBodyIsAConflict() throws Exception {
+        taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.DONE, null));
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Edited\",\"status\":\"TODO\",\"priority\":\"LOW\",\"version\":0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Conflict"));
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Edited\",\"status\":\"TODO\",\"priority\":\"LOW\",\"version\":1}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void concurrentUpdatesAreNeverLost() throws Exception {
+        int writers = 8;
+        int updatesPerWriter = 10;
+        AtomicInteger succeeded = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < updatesPerWriter; i++) {
+                        try {
+                            taskService.updateTask(task.getId(), new TaskRequestDTO("Writer " + writer + " #" + i, null,
+                                    Task.TaskStatus.values()[i % 3], Task.TaskPriority.LOW));
+                            succeeded.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            // Retries used up; the client would get 409 and nothing was written
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // One version step per successful write: no update overwrote another without a version check
+        assertThat(succeeded.get()).isPositive();
+        assertThat(taskService.getTaskById(task.getId()).orElseThrow().getVersion()).isEqualTo(succeeded.get());
+    }
+}
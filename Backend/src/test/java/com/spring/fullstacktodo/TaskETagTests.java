@@ -0,0 +1,100 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.repository.TaskRepo;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private TaskResponseDTO task;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        task = taskService.createTask(new TaskRequestDTO("Write docs", null, Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM));
+    }
+
+    @Test
+    void unchangedTaskAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.DONE, null));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void collectionETagChangesOnWrite() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        taskService.createTask(new TaskRequestDTO("Another", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void collectionETagFollowsWritesOfOtherInstances() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // What another instance's write transaction does on commit
+        taskRepo.bumpBoardVersion(BoardContext.DEFAULT_BOARD);
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isNoContent());
+
+        // The first patch bumped the version, so the same ETag is now stale
+        mockMvc.perform(patch("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
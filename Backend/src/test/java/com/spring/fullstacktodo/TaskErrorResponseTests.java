@@ -0,0 +1,102 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.exception.GlobalExceptionHandler;
+import com.spring.fullstacktodo.exception.TaskNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskErrorResponseTests {
+    private static final long MISSING_ID = -42;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Test
+    void missingTasksAreProblemResponsesWithoutExceptions() throws Exception {
+        double before = errors("direct");
+
+        mockMvc.perform(get("/api/tasks/{id}", MISSING_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.type").value("about:blank"))
+                .andExpect(jsonPath("$.title").value("Task Not Found"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Task not found with id: -42"));
+        mockMvc.perform(delete("/api/tasks/{id}", MISSING_ID)).andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/tasks/{id}", MISSING_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isNotFound());
+
+        assertThat(errors("direct") - before).isEqualTo(3);
+    }
+
+    @Test
+    void thrownErrorsUseTheSameBodies() throws Exception {
+        double before = errors("exception");
+
+        mockMvc.perform(patch("/api/tasks/{id}/complete", MISSING_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Task not found with id: -42"));
+
+        assertThat(errors("exception") - before).isEqualTo(1);
+        assertThat(new TaskNotFoundException(MISSING_ID).getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void springClientErrorsKeepTheirStatus() throws Exception {
+        // The details name the offending value, not the parser or the Java types
+        mockMvc.perform(get("/api/tasks/{id}", "not-a-number"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Bad Request"))
+                .andExpect(jsonPath("$.detail").value("Invalid value 'not-a-number' for parameter 'id'"));
+        mockMvc.perform(patch("/api/tasks/{id}", 1).contentType(MediaType.APPLICATION_JSON).content("{"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("The request body could not be read"));
+        mockMvc.perform(patch("/api/tasks/{id}", 1).contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"LATER\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("The request body could not be read"));
+        mockMvc.perform(get("/api/no-such-route"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("Not Found"));
+    }
+
+    @Test
+    void serverErrorsDoNotEchoTheException() {
+        ResponseEntity<byte[]> response = exceptionHandler.handleGlobalException(
+                new IllegalStateException("could not connect to jdbc:postgresql://db.internal:5432/todo_db"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+                .contains("\"detail\":\"An unexpected error occurred\"")
+                .doesNotContain("db.internal");
+    }
+
+    private double errors(String source) {
+        return meterRegistry.get("tasks.errors").tag("error", "Task Not Found").tag("source", source).functionCounter().count();
+    }
+}
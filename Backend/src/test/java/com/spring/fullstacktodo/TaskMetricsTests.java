@@ -0,0 +1,47 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class TaskMetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void hotPathMetricsAreScraped() throws Exception {
+        taskService.createTask(new TaskRequestDTO("Measure", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        mockMvc.perform(get("/api/tasks/status/{status}", "TODO")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("tasks_service_seconds_count{")
+                .contains("tasks_mapper_seconds_count{")
+                .contains("tasks_repository_rows_count{")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("tasks_request_statements_count{")
+                .contains("uri=\"/api/tasks/status/{status}\"")
+                .contains("hibernate_statements_total{")
+                .contains("hikaricp_connections_active{");
+    }
+}
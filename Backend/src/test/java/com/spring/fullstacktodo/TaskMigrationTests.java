@@ -0,0 +1,163 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.board.BoardContext;
+import com.spring.fullstacktodo.dto.TaskPageDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+// The Flyway migrations on a real PostgreSQL (the other tests run on H2 with ddl-auto): the application starts
+// on V1-V7 with ddl-auto=validate as in production, the Postgres search engine and the board partitions included
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "tasks.search.engine=postgres"
+})
+class TaskMigrationTests {
+    private static final long BOARD = 42;
+    private static final long OTHER_BOARD = 43;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        // initdb refuses to run as root, e.g. in some CI containers
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL does not run as root");
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @AfterEach
+    void tearDown() {
+        BoardContext.runOn(BOARD, taskService::deleteAllTasks);
+        BoardContext.runOn(OTHER_BOARD, taskService::deleteAllTasks);
+    }
+
+    @Test
+    void existingTasksMoveToTheDefaultBoard() {
+        jdbcTemplate.execute("CREATE DATABASE legacy");
+        DataSource legacy = postgres.getDatabase("postgres", "legacy");
+        JdbcTemplate jdbc = new JdbcTemplate(legacy);
+        flyway(legacy, "5").migrate();
+        jdbc.update("INSERT INTO tasks (id, title, status, priority, priority_rank, created_at, version) " +
+                "VALUES (nextval('tasks_seq'), 'Quarterly report', 'TODO', 'HIGH', 2, now(), 3)");
+
+        flyway(legacy, null).migrate();
+
+        assertThat(jdbc.queryForMap("SELECT board_id, version, tableoid::regclass::text AS partition FROM tasks WHERE title = 'Quarterly report'"))
+                .containsEntry("board_id", 0L)
+                .containsEntry("version", 3L)
+                .hasEntrySatisfying("partition", partition -> assertThat((String) partition).startsWith("tasks_shared_"));
+        assertThat(jdbc.queryForList("SELECT id FROM tasks WHERE search_vector @@ to_tsquery('simple', 'quart:*')", Long.class)).hasSize(1);
+        jdbcTemplate.execute("DROP DATABASE legacy");
+    }
+
+    @Test
+    void tasksWorkOnTheirBoardsPartitions() {
+        long id = BoardContext.callOn(BOARD, () -> taskService.createTask(
+                new TaskRequestDTO("Partitioned roadmap", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)).getId());
+        BoardContext.runOn(OTHER_BOARD, () -> taskService.createTask(
+                new TaskRequestDTO("Partitioned retro", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)));
+
+        // Entity UPDATE with board_id (@PartitionKey) and the version check
+        TaskResponseDTO updated = BoardContext.callOn(BOARD, () -> taskService.updateTask(id,
+                new TaskRequestDTO("Partitioned roadmap v2", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH, 0L)));
+        assertThat(updated.getVersion()).isEqualTo(1);
+
+        // Search pages on (rank, id): the title match first, then the equally ranked description matches, newest first
+        BoardContext.runOn(BOARD, () -> {
+            taskService.createTask(new TaskRequestDTO("Plan", "Partitioned plan", Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+            taskService.createTask(new TaskRequestDTO("Notes", "Partitioned notes", Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        });
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            TaskPageDTO<TaskResponseDTO> page = BoardContext.callOn(BOARD, () -> taskService.searchTasks("partitioned", null, null, after, 1));
+            page.getTasks().forEach(task -> titles.add(task.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(titles).containsExactly("Partitioned roadmap v2", "Notes", "Plan");
+
+        // UPDATE ... RETURNING the replaced values, then DELETE ... RETURNING, restricted to the current board
+        assertThat(BoardContext.callOn(OTHER_BOARD, () -> taskService.patchTask(id, new TaskPatchDTO(Task.TaskStatus.DONE, null)))).isFalse();
+        assertThat(BoardContext.callOn(BOARD, () -> taskService.patchTask(id, new TaskPatchDTO(Task.TaskStatus.DONE, null), 1L))).isTrue();
+        assertThat(BoardContext.callOn(BOARD, () -> taskService.getTaskStats().getByStatus())).containsEntry(Task.TaskStatus.DONE, 1L)
+                .containsEntry(Task.TaskStatus.IN_PROGRESS, 0L);
+        assertThat(BoardContext.callOn(OTHER_BOARD, () -> taskService.deleteTask(id))).isFalse();
+        assertThat(BoardContext.callOn(BOARD, () -> taskService.deleteTask(id))).isTrue();
+        assertThat(BoardContext.callOn(BOARD, () -> taskService.getTaskStats().getTotal())).isEqualTo(2);
+    }
+
+    @Test
+    void isolatedBoardsKeepTheirTasks() {
+        BoardContext.runOn(BOARD, () -> {
+            for (int i = 0; i < 3; i++) {
+                taskService.createTask(new TaskRequestDTO("Isolated " + i, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+            }
+        });
+        BoardContext.runOn(OTHER_BOARD, () -> taskService.createTask(
+                new TaskRequestDTO("Isolated elsewhere", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)));
+
+        jdbcTemplate.execute("SELECT tasks_isolate_board(" + BOARD + ")");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_board_" + BOARD, Long.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_shared WHERE board_id = " + BOARD, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_shared WHERE board_id = " + OTHER_BOARD, Long.class)).isEqualTo(1);
+        // New tasks of the board land in its own partition, and the board reads them all back
+        BoardContext.runOn(BOARD, () -> taskService.createTask(
+                new TaskRequestDTO("Isolated 3", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_board_" + BOARD, Long.class)).isEqualTo(4);
+        assertThat(BoardContext.callOn(BOARD, () -> taskService.getAllTasks())).hasSize(4);
+    }
+
+    private static Flyway flyway(DataSource dataSource, String target) {
+        var configuration = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+}
@@ -0,0 +1,75 @@
+package com.spring.fullstacktodo;
+
+import com.jayway.jsonpath.JsonPath;
+import com.spring.fullstacktodo.controller.TaskController;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskPaginationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        for (int i = 0; i < 5; i++) {
+            taskService.createTask(new TaskRequestDTO("Task " + i, null, Task.TaskStatus.TODO, Task.TaskPriority.MEDIUM));
+        }
+    }
+
+    @Test
+    void keysetPagesCoverEveryTaskOnce() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/tasks").param("limit", "2")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ids.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].id"));
+            cursor = result.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks/status/TODO").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
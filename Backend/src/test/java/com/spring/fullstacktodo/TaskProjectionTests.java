@@ -0,0 +1,79 @@
+package com.spring.fullstacktodo;
+
+import com.jayway.jsonpath.JsonPath;
+import com.spring.fullstacktodo.controller.TaskController;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskProjectionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        for (int i = 0; i < 6; i++) {
+            taskService.createTask(new TaskRequestDTO("Task " + i, "A long description", Task.TaskStatus.TODO,
+                    Task.TaskPriority.values()[i % 3]));
+        }
+    }
+
+    @Test
+    void summaryPagesFollowTheBoardOrderWithoutDescriptions() throws Exception {
+        List<String> priorities = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/tasks/status/TODO").param("view", "summary")
+                            .param("limit", "4").param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andReturn();
+            priorities.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].priority"));
+            cursor = result.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertThat(priorities).containsExactly("HIGH", "HIGH", "MEDIUM", "MEDIUM", "LOW", "LOW");
+    }
+
+    @Test
+    void listReadsDoNotLoadEntities() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long loads = statistics.getEntityLoadCount();
+
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].description").value("A long description"));
+        mockMvc.perform(get("/api/tasks/order/priority").param("limit", "3")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").param("view", "summary")).andExpect(status().isOk());
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loads);
+    }
+}
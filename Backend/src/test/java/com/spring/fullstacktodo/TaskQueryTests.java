@@ -0,0 +1,88 @@
+package com.spring.fullstacktodo;
+
+import com.jayway.jsonpath.JsonPath;
+import com.spring.fullstacktodo.controller.TaskController;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskQueryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        taskService.createTask(new TaskRequestDTO("Pay rent", "Before the 1st", Task.TaskStatus.TODO, Task.TaskPriority.URGENT));
+        taskService.createTask(new TaskRequestDTO("Pay invoices", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH));
+        taskService.createTask(new TaskRequestDTO("100% | done", null, Task.TaskStatus.DONE, Task.TaskPriority.LOW));
+        taskService.createTask(new TaskRequestDTO("Water plants", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+    }
+
+    @Test
+    void filtersSortAndFieldsCombine() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "TODO", "IN_PROGRESS")
+                        .param("q", "PAY")
+                        .param("sort", "priority,asc")
+                        .param("fields", "title,priority"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("Pay invoices", "Pay rent")))
+                .andExpect(jsonPath("$[0].priority").value("HIGH"))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void textMatchTreatsWildcardsLiterally() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("q", "0%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].title", contains("100% | done")));
+    }
+
+    @Test
+    void keysetPagesFollowAnySortKey() throws Exception {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            MvcResult result = mockMvc.perform(get("/api/tasks").param("sort", "title,desc").param("limit", "1")
+                            .param("cursor", cursor == null ? "" : cursor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            titles.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$[*].title"));
+            cursor = result.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Water plants", "Pay rent", "Pay invoices", "100% | done");
+    }
+
+    @Test
+    void unknownFieldsAndSortKeysAreRejected() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("sort", "priorityRank"))
+                .andExpect(status().isBadRequest());
+    }
+}
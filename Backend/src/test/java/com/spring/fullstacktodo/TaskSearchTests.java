@@ -0,0 +1,119 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskPageDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskSearchTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TaskResponseDTO report;
+    private TaskResponseDTO review;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        report = taskService.createTask(new TaskRequestDTO("Quarterly report", "Collect numbers",
+                Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+        review = taskService.createTask(new TaskRequestDTO("Code review", "Check the quarterly report draft",
+                Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW));
+        taskService.createTask(new TaskRequestDTO("Groceries", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        assertThat(titles(search("report", null, null, 10)))
+                .containsExactly("Quarterly report", "Code review");
+    }
+
+    @Test
+    void everyTermMatchesAsPrefix() {
+        assertThat(titles(search("quart rep", null, null, 10)))
+                .containsExactly("Quarterly report", "Code review");
+        assertThat(search("quart groc", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void filtersAndLimitApply() {
+        assertThat(titles(search("report", Task.TaskStatus.IN_PROGRESS, null, 10)))
+                .containsExactly("Code review");
+        assertThat(titles(search("report", null, Task.TaskPriority.HIGH, 10)))
+                .containsExactly("Quarterly report");
+        assertThat(search("report", null, null, 1)).hasSize(1);
+    }
+
+    @Test
+    void pagesFollowTheRankingThroughTies() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(taskService.createTask(new TaskRequestDTO("Sprint item " + i, null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)).getId());
+        }
+        // Equal ranks, so the newest (highest id) comes first
+        Collections.reverse(expected);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPageDTO<TaskResponseDTO> page = taskService.searchTasks("sprint", null, null, cursor, 2);
+            assertThat(page.getTasks()).hasSizeLessThanOrEqualTo(2);
+            page.getTasks().forEach(task -> ids.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).isEqualTo(expected);
+        assertThat(taskService.searchTasks("report", null, null, null, 1).getNextCursor()).isNotNull();
+        assertThat(taskService.searchTasks("report", null, null, null, 2).getNextCursor()).isNull();
+    }
+
+    @Test
+    void indexFollowsWrites() {
+        taskService.patchTask(review.getId(), new TaskPatchDTO(Task.TaskStatus.DONE, null));
+        assertThat(titles(search("report", Task.TaskStatus.DONE, null, 10)))
+                .containsExactly("Code review");
+
+        taskService.deleteTask(report.getId());
+        assertThat(titles(search("quarterly", null, null, 10)))
+                .containsExactly("Code review");
+    }
+
+    @Test
+    void rolledBackWritesLeaveTheIndexAlone() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            taskService.updateTask(report.getId(), new TaskRequestDTO("Annual summary", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+            taskService.deleteTask(review.getId());
+            tx.setRollbackOnly();
+        });
+
+        assertThat(search("annual", null, null, 10)).isEmpty();
+        assertThat(titles(search("report", null, null, 10)))
+                .containsExactly("Quarterly report", "Code review");
+    }
+
+    private List<TaskResponseDTO> search(String text, Task.TaskStatus status, Task.TaskPriority priority, int limit) {
+        return taskService.searchTasks(text, status, priority, null, limit).getTasks();
+    }
+
+    private static List<String> titles(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getTitle).toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.spring.fullstacktodo;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("startup")
+class TaskStartupProfileTests {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void persistenceStartsWithTheContextEverythingElseOnFirstUse() throws Exception {
+        assertThat(created("entityManagerFactory")).isTrue();
+        assertThat(created("taskTransferService")).isFalse();
+
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+
+        assertThat(created("taskTransferService")).isTrue();
+    }
+
+    @Test
+    void apiDocsAreOnlyBuiltInDev() {
+        assertThat(context.getBeanNamesForType(OpenAPI.class)).isEmpty();
+        assertThat(context.getBeanNamesForType(OpenApiWebMvcResource.class)).isEmpty();
+    }
+
+    private boolean created(String bean) {
+        return context.getBeanFactory().containsSingleton(bean);
+    }
+}
@@ -0,0 +1,140 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskBatchTransitionDTO;
+import com.spring.fullstacktodo.dto.TaskPatchDTO;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.dto.TaskStatsDTO;
+import com.spring.fullstacktodo.exception.TaskPreconditionFailedException;
+import com.spring.fullstacktodo.metrics.SqlStatementCounter;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Writes move the counters once they commit, so the stats read after them runs no query
+@SpringBootTest
+class TaskStatsTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TaskResponseDTO task;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        task = taskService.createTask(new TaskRequestDTO("Count me", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+        taskService.createTask(new TaskRequestDTO("And me", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+        taskService.getTaskStats();
+    }
+
+    @Test
+    void transitionsMoveTheCounters() {
+        // A single UPDATE both changes the task and reports the values it replaced; the others bump the
+        // board's version on commit (one upsert on PostgreSQL, two statements on H2)
+        statementCounter.begin();
+        taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.IN_PROGRESS, null));
+        assertThat(statementCounter.end()).isEqualTo(3);
+        taskService.markTaskAsUrgent(task.getId());
+        assertThatThrownBy(() -> taskService.patchTask(task.getId(), new TaskPatchDTO(Task.TaskStatus.DONE, null), 0L))
+                .isInstanceOf(TaskPreconditionFailedException.class);
+
+        TaskStatsDTO stats = statsWithoutQueries();
+
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(Task.TaskStatus.TODO, 1L).containsEntry(Task.TaskStatus.IN_PROGRESS, 1L)
+                .containsEntry(Task.TaskStatus.DONE, 0L);
+        assertThat(stats.getByPriority()).containsEntry(Task.TaskPriority.URGENT, 1L).containsEntry(Task.TaskPriority.LOW, 0L);
+    }
+
+    @Test
+    void deletesTakeTheirTasksOutOfTheCounters() {
+        TaskResponseDTO done = taskService.createTask(new TaskRequestDTO("Done", null, Task.TaskStatus.DONE, Task.TaskPriority.MEDIUM));
+        TaskResponseDTO urgent = taskService.createTask(new TaskRequestDTO("Urgent", null, Task.TaskStatus.TODO, Task.TaskPriority.URGENT));
+
+        // A single DELETE both removes the task and reports what it leaves; the others bump the board's
+        // version on commit (one upsert on PostgreSQL, two statements on H2)
+        statementCounter.begin();
+        assertThat(taskService.deleteTask(task.getId())).isTrue();
+        assertThat(statementCounter.end()).isEqualTo(3);
+        assertThat(taskService.deleteTask(task.getId())).isFalse();
+        assertThat(taskService.deleteTasks(List.of(done.getId(), urgent.getId(), -1L)).getAffected()).isEqualTo(2);
+
+        TaskStatsDTO stats = statsWithoutQueries();
+
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByStatus()).containsEntry(Task.TaskStatus.TODO, 1L).containsEntry(Task.TaskStatus.DONE, 0L);
+        assertThat(stats.getByPriority()).containsEntry(Task.TaskPriority.HIGH, 1L).containsEntry(Task.TaskPriority.URGENT, 0L);
+    }
+
+    @Test
+    void batchTransitionsMoveTheCounters() {
+        TaskResponseDTO other = taskService.createTask(new TaskRequestDTO("Other", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.LOW));
+
+        taskService.transitionTasks(new TaskBatchTransitionDTO(List.of(task.getId(), other.getId()), Task.TaskStatus.DONE, null));
+
+        TaskStatsDTO stats = statsWithoutQueries();
+        assertThat(stats.getByStatus()).containsEntry(Task.TaskStatus.DONE, 2L).containsEntry(Task.TaskStatus.IN_PROGRESS, 0L);
+        assertThat(stats.getByPriority()).containsEntry(Task.TaskPriority.LOW, 2L);
+    }
+
+    @Test
+    void uncommittedWritesDoNotMoveTheCounters() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            taskService.createTask(new TaskRequestDTO("Rolled back", null, Task.TaskStatus.DONE, Task.TaskPriority.LOW));
+            assertThat(CompletableFuture.supplyAsync(taskService::getTaskStats).join().getTotal()).isEqualTo(2);
+            tx.setRollbackOnly();
+        });
+
+        TaskStatsDTO stats = statsWithoutQueries();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByStatus()).containsEntry(Task.TaskStatus.TODO, 2L).containsEntry(Task.TaskStatus.DONE, 0L);
+    }
+
+    @Test
+    void statsReloadedBeforeAWriteReachesTheCountersAreNotKept() {
+        // Recounted on the next read
+        taskService.createTasks(List.of(new TaskRequestDTO("Imported", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW)));
+        AtomicReference<TaskStatsDTO> betweenCommitAndCounters = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(tx -> {
+            taskService.createTask(new TaskRequestDTO("Committed", null, Task.TaskStatus.DONE, Task.TaskPriority.LOW));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    betweenCommitAndCounters.set(CompletableFuture.supplyAsync(taskService::getTaskStats).join());
+                }
+            });
+        });
+
+        // That reload already counted the new task; keeping it would count the task twice
+        assertThat(betweenCommitAndCounters.get().getTotal()).isEqualTo(4);
+        assertThat(taskService.getTaskStats().getTotal()).isEqualTo(4);
+        assertThat(statsWithoutQueries().getByStatus()).containsEntry(Task.TaskStatus.DONE, 1L);
+    }
+
+    private TaskStatsDTO statsWithoutQueries() {
+        statementCounter.begin();
+        TaskStatsDTO stats = taskService.getTaskStats();
+        assertThat(statementCounter.end()).isZero();
+        return stats;
+    }
+}
@@ -0,0 +1,76 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small batches so the tests cross batch boundaries
+@SpringBootTest(properties = "tasks.transfer.import-batch-size=2")
+@AutoConfigureMockMvc
+class TaskTransferTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        taskService.createTask(new TaskRequestDTO("Comma, \"quotes\"", "Line one\nline two", Task.TaskStatus.TODO, Task.TaskPriority.URGENT));
+        taskService.createTask(new TaskRequestDTO("No description", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.HIGH));
+        taskService.createTask(new TaskRequestDTO("Empty description", "", Task.TaskStatus.DONE, Task.TaskPriority.LOW));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ndjson", "csv"})
+    void exportedTasksImportUnchanged(String format) throws Exception {
+        List<TaskResponseDTO> before = taskService.getAllTasks();
+        byte[] export = mockMvc.perform(get("/api/tasks/export").param("format", format))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        taskService.deleteAllTasks();
+        mockMvc.perform(post("/api/tasks/import").param("format", format).content(export))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.batches").value(2));
+
+        // New ids and versions, everything else as exported
+        assertThat(taskService.getAllTasks())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "version")
+                .containsExactlyElementsOf(before);
+    }
+
+    @Test
+    void badRecordKeepsEarlierBatches() throws Exception {
+        taskService.deleteAllTasks();
+        String csv = "title,status\r\nFirst,TODO\r\nSecond,DONE\r\nThird,LATER\r\n";
+
+        mockMvc.perform(post("/api/tasks/import").param("format", "csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", containsString("Line 4")))
+                .andExpect(jsonPath("$.detail", containsString("2 tasks before it were imported")));
+
+        assertThat(taskService.getAllTasks()).extracting(TaskResponseDTO::getTitle).containsExactly("First", "Second");
+    }
+}
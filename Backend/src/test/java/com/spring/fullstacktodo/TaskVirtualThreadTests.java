@@ -0,0 +1,164 @@
+package com.spring.fullstacktodo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many more concurrent requests than connections: Tomcat serves them on virtual threads, and the calls wait
+// for the pool instead of failing or deadlocking
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + TaskVirtualThreadTests.POOL_SIZE,
+        "spring.datasource.hikari.minimum-idle=" + TaskVirtualThreadTests.POOL_SIZE
+})
+@ActiveProfiles("virtual-threads")
+class TaskVirtualThreadTests {
+    static final int POOL_SIZE = 4;
+    private static final int REQUESTS = 40;
+    private static final Duration FILL_TIMEOUT = Duration.ofSeconds(10);
+
+    // Whether each request reached its handler on a virtual thread
+    private static final Queue<Boolean> handledOnVirtualThreads = new ConcurrentLinkedQueue<>();
+    // Opened once the pool has been seen full; until then the held requests keep their connections
+    private static volatile CountDownLatch release = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class HandlerThreads implements WebMvcConfigurer {
+        @Bean
+        HandlerInterceptor handlerThreadRecorder() {
+            return new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    handledOnVirtualThreads.add(Thread.currentThread().isVirtual());
+                    return true;
+                }
+            };
+        }
+
+        @Bean
+        HeldConnections heldConnections(DataSource dataSource) {
+            return new HeldConnections(dataSource);
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(handlerThreadRecorder()).addPathPatterns("/api/tasks/**", "/test/**");
+        }
+    }
+
+    // Takes a connection and keeps it until the test releases it, like a slow query would
+    @RestController
+    static class HeldConnections {
+        private final DataSource dataSource;
+
+        HeldConnections(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @GetMapping("/test/held-connection")
+        boolean hold() throws SQLException, InterruptedException {
+            try (Connection connection = dataSource.getConnection()) {
+                return release.await(FILL_TIMEOUT.toSeconds(), TimeUnit.SECONDS) && connection.isValid(1);
+            }
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void concurrencyIsBoundedByThePoolNotTheThreads() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicInteger peakActive = new AtomicInteger();
+        AtomicInteger peakAwaiting = new AtomicInteger();
+        AtomicBoolean loading = new AtomicBoolean(true);
+        handledOnVirtualThreads.clear();
+        release = new CountDownLatch(1);
+
+        List<Future<HttpResponse<String>>> calls = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            // Parks between samples: spinning would hold a carrier thread the requests need. Lets the held
+            // requests go once every connection is taken and further requests wait for one
+            Future<?> sampler = executor.submit(() -> {
+                long deadline = System.nanoTime() + FILL_TIMEOUT.toNanos();
+                while (loading.get()) {
+                    peakActive.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                    peakAwaiting.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+                    if ((peakActive.get() == POOL_SIZE && peakAwaiting.get() > 0) || System.nanoTime() > deadline) {
+                        release.countDown();
+                    }
+                    Thread.sleep(1);
+                }
+                return null;
+            });
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpRequest request = i % 4 == 0
+                        ? HttpRequest.newBuilder(uri("/api/tasks")).header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Task " + i + "\",\"status\":\"TODO\",\"priority\":\"LOW\"}")).build()
+                        : HttpRequest.newBuilder(uri("/test/held-connection")).GET().build();
+                calls.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            try {
+                for (Future<HttpResponse<String>> call : calls) {
+                    HttpResponse<String> response = call.get();
+                    assertThat(response.statusCode()).isBetween(200, 201);
+                    if (response.uri().getPath().startsWith("/test")) {
+                        assertThat(response.body()).isEqualTo("true");
+                    }
+                }
+            } finally {
+                // A failed call must not leave the sampler (and so the executor) running
+                loading.set(false);
+                release.countDown();
+            }
+            sampler.get();
+        }
+
+        assertThat(handledOnVirtualThreads).hasSize(REQUESTS).containsOnly(true);
+        // Every connection was in use at once and never more; the other requests queued for one
+        assertThat(peakActive.get()).isEqualTo(POOL_SIZE);
+        assertThat(peakAwaiting.get()).isPositive();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
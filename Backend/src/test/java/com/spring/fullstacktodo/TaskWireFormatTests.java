@@ -0,0 +1,62 @@
+package com.spring.fullstacktodo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskWireFormatTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        taskService.createTask(new TaskRequestDTO("Ship it", null, Task.TaskStatus.IN_PROGRESS, Task.TaskPriority.URGENT));
+    }
+
+    @Test
+    void cborUsesOrdinalsAndEpochMillis() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/tasks").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode task = new CBORMapper().readTree(body).get(0);
+        assertThat(task.get("title").asText()).isEqualTo("Ship it");
+        assertThat(task.get("status").asInt()).isEqualTo(Task.TaskStatus.IN_PROGRESS.ordinal());
+        assertThat(task.get("priority").asInt()).isEqualTo(Task.TaskPriority.URGENT.ordinal());
+        assertThat(task.get("createdAt").isIntegralNumber()).isTrue();
+        assertThat(task.has("description")).isFalse();
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,115 @@
+package com.spring.fullstacktodo;
+
+import com.spring.fullstacktodo.dto.TaskRequestDTO;
+import com.spring.fullstacktodo.dto.TaskResponseDTO;
+import com.spring.fullstacktodo.model.Task;
+import com.spring.fullstacktodo.service.TaskService;
+import com.spring.fullstacktodo.service.TaskStatsCounter;
+import com.spring.fullstacktodo.service.TaskWriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The interval is long enough that only the explicit flushes in the tests write anything
+@SpringBootTest(properties = {"tasks.write-behind.enabled=true", "tasks.write-behind.flush-interval=1h"})
+class TaskWriteBehindTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteBehindBuffer writeBehind;
+
+    @Autowired
+    private TaskStatsCounter taskStatsCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TaskResponseDTO task;
+
+    @BeforeEach
+    void setUp() {
+        taskService.deleteAllTasks();
+        task = taskService.createTask(new TaskRequestDTO("Drag me", null, Task.TaskStatus.TODO, Task.TaskPriority.LOW));
+    }
+
+    @Test
+    void rapidTransitionsBecomeOneUpdate() {
+        double statementsBefore = meterRegistry.counter("tasks.write-behind.statements").count();
+
+        taskService.markTaskAsInProgress(task.getId());
+        taskService.markTaskAsCompleted(task.getId());
+        taskService.markTaskAsUrgent(task.getId());
+        TaskResponseDTO seen = taskService.markTaskAsInProgress(task.getId());
+
+        // Reads include the pending transitions, the row does not yet
+        assertThat(seen.getStatus()).isEqualTo(Task.TaskStatus.IN_PROGRESS);
+        assertThat(seen.getPriority()).isEqualTo(Task.TaskPriority.URGENT);
+        assertThat(seen.getVersion()).isEqualTo(4);
+        assertThat(storedStatus()).isEqualTo("TODO");
+
+        writeBehind.flush();
+
+        assertThat(storedStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(taskService.getTaskById(task.getId()).orElseThrow().getVersion()).isEqualTo(4);
+        assertThat(meterRegistry.counter("tasks.write-behind.statements").count() - statementsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void databaseReadsAndWritesSeePendingTransitions() {
+        taskService.markTaskAsCompleted(task.getId());
+
+        assertThat(taskService.getTaskStats().getByStatus().get(Task.TaskStatus.DONE)).isEqualTo(1);
+        TaskResponseDTO updated = taskService.updateTask(task.getId(),
+                new TaskRequestDTO("Renamed", null, Task.TaskStatus.DONE, Task.TaskPriority.LOW, 1L));
+        assertThat(updated.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void readsDuringABurstDoNotFlush() {
+        TaskResponseDTO other = taskService.createTask(new TaskRequestDTO("Stay", null, Task.TaskStatus.TODO, Task.TaskPriority.HIGH));
+        double statementsBefore = statements();
+
+        taskService.markTaskAsInProgress(task.getId());
+        assertThat(taskService.getTaskStats().getByStatus())
+                .containsEntry(Task.TaskStatus.TODO, 1L).containsEntry(Task.TaskStatus.IN_PROGRESS, 1L);
+        assertThat(taskService.getTasksByStatus(Task.TaskStatus.IN_PROGRESS)).extracting(TaskResponseDTO::getId).containsExactly(task.getId());
+        assertThat(taskService.getTasksByStatus(Task.TaskStatus.TODO)).extracting(TaskResponseDTO::getId).containsExactly(other.getId());
+
+        taskService.markTaskAsUrgent(task.getId());
+        assertThat(taskService.getAllTasksOrderedByPriority()).extracting(TaskResponseDTO::getId).containsExactly(task.getId(), other.getId());
+        assertThat(taskService.getTasksByStatus(Task.TaskStatus.TODO, null, 10).getTasks())
+                .extracting(TaskResponseDTO::getId).containsExactly(other.getId());
+        assertThat(taskService.getAllTasks(null, 10).getTasks()).filteredOn(found -> found.getId().equals(task.getId()))
+                .singleElement().satisfies(found -> assertThat(found.getVersion()).isEqualTo(2));
+        // Loading the counters from the database counts the pending transitions too
+        taskStatsCounter.invalidate();
+        assertThat(taskService.getTaskStats().getByPriority())
+                .containsEntry(Task.TaskPriority.URGENT, 1L).containsEntry(Task.TaskPriority.LOW, 0L);
+
+        assertThat(statements() - statementsBefore).isZero();
+        assertThat(storedStatus()).isEqualTo("TODO");
+
+        writeBehind.flush();
+
+        assertThat(taskService.getTaskStats().getByStatus()).containsEntry(Task.TaskStatus.IN_PROGRESS, 1L);
+        assertThat(taskService.getTaskStats().getByPriority()).containsEntry(Task.TaskPriority.URGENT, 1L);
+    }
+
+    private double statements() {
+        return meterRegistry.counter("tasks.write-behind.statements").count();
+    }
+
+    private String storedStatus() {
+        return jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, task.getId());
+    }
+}
@@ -1,11 +1,38 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import KanbanBoard from './components/KanbanBoard';
 import TaskModal from './components/TaskModal';
 import taskService from './services/taskService';
 import Dashboard from './components/Dashboard';
 
+// Apply one change feed entry to the local task list
+const applyChange = (tasks, change) => {
+  switch (change.type) {
+    case 'UPSERT':
+      return tasks.some(task => task.id === change.id)
+        ? tasks.map(task => (task.id === change.id ? change.task : task))
+        : [...tasks, change.task];
+    // Every PATCH is one UPDATE on the server, which bumps the version by one
+    case 'PATCH':
+      return tasks.map(task => (task.id === change.id ? {
+        ...task,
+        status: change.status ?? task.status,
+        priority: change.priority ?? task.priority,
+        version: task.version + 1
+      } : task));
+    case 'DELETE':
+      return tasks.filter(task => task.id !== change.id);
+    case 'DELETE_STATUS':
+      return tasks.filter(task => task.status !== change.status);
+    case 'CLEAR':
+      return [];
+    default:
+      return tasks;
+  }
+};
+
 function App() {
   const [tasks, setTasks] = useState([]);
+  const [stats, setStats] = useState(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [darkMode, setDarkMode] = useState(false);
@@ -14,29 +41,65 @@ function App() {
   const [editingTask, setEditingTask] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [filterPriority, setFilterPriority] = useState('ALL');
+  // Server-side result for the active search/priority filter, null when no filter is set
+  const [queryResult, setQueryResult] = useState(null);
+  const statsTimer = useRef(null);
 
+  // Load the board once, then keep it current from the change stream instead of re-fetching
   useEffect(() => {
-    loadTasks();
+    let stream = null;
+    loadTasks().then((cursor) => {
+      if (cursor) {
+        stream = taskService.subscribeToChanges(cursor, handleChange);
+      }
+    });
+    return () => {
+      if (stream) {
+        stream.close();
+      }
+      clearTimeout(statsTimer.current);
+    };
   }, []);
 
+  // Returns the feed cursor taken before the snapshot, so no change between the two is missed
   const loadTasks = async () => {
     try {
       setLoading(true);
-      const data = await taskService.getAllTasks();
+      const { cursor } = await taskService.getChanges();
+      const [data, statsData] = await Promise.all([
+        taskService.getAllTasks(),
+        taskService.getStats()
+      ]);
       setTasks(data);
+      setStats(statsData);
       setError(null);
+      return cursor;
     } catch (err) {
       setError('Failed to load tasks');
       console.error(err);
+      return null;
     } finally {
       setLoading(false);
     }
   };
 
+  const handleChange = (change) => {
+    // The server dropped us behind the feed: start over from a fresh snapshot
+    if (change.type === 'RESET') {
+      loadTasks();
+      return;
+    }
+    setTasks(current => applyChange(current, change));
+    // Coalesce stats refreshes when changes arrive in bursts
+    clearTimeout(statsTimer.current);
+    statsTimer.current = setTimeout(() => {
+      taskService.getStats().then(setStats).catch(console.error);
+    }, 250);
+  };
+
   const handleCreateTask = async (taskData) => {
     try {
       await taskService.createTask(taskData);
-      loadTasks();
       setShowTaskModal(false);
     } catch (err) {
       setError('Failed to create task');
@@ -46,11 +109,12 @@ function App() {
   const handleUpdateTask = async (id, taskData) => {
     try {
       await taskService.updateTask(id, taskData);
-      loadTasks();
       setEditingTask(null);
       setShowTaskModal(false);
     } catch (err) {
-      setError('Failed to update task');
+      setError(err.response?.status === 409
+        ? 'Someone else changed this task in the meantime, reopen it to see their version'
+        : 'Failed to update task');
     }
   };
 
@@ -58,7 +122,6 @@ function App() {
     if (window.confirm('Are you sure you want to delete this task?')) {
       try {
         await taskService.deleteTask(id);
-        loadTasks();
       } catch (err) {
         setError('Failed to delete task');
       }
@@ -67,24 +130,37 @@ function App() {
 
   const handleStatusChange = async (id, newStatus) => {
     try {
-      if (newStatus === 'DONE') {
-        await taskService.markAsCompleted(id);
-      } else if (newStatus === 'IN_PROGRESS') {
-        await taskService.markAsInProgress(id);
-      } else {
-        await taskService.markAsTodo(id);
-      }
-      loadTasks();
+      await taskService.patchTask(id, { status: newStatus });
     } catch (err) {
       setError('Failed to update task status');
     }
   };
 
-  const filteredTasks = tasks.filter(task => {
-    const matchesSearch = task.title.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesPriority = filterPriority === 'ALL' || task.priority === filterPriority;
-    return matchesSearch && matchesPriority;
-  });
+  // Let the server filter; re-run (debounced) when the filter changes or the board changes
+  useEffect(() => {
+    if (searchTerm === '' && filterPriority === 'ALL') {
+      setQueryResult(null);
+      return undefined;
+    }
+    let cancelled = false;
+    const timer = setTimeout(() => {
+      taskService.queryTasks({
+        q: searchTerm || undefined,
+        priority: filterPriority === 'ALL' ? undefined : filterPriority
+      })
+        .then(result => { if (!cancelled) setQueryResult(result); })
+        .catch(console.error);
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, filterPriority, tasks]);
+
+  const filteredTasks = queryResult ?? tasks;
+
+  // Server-side counts only describe the unfiltered board
+  const dashboardStats = searchTerm === '' && filterPriority === 'ALL' ? stats : null;
 
   if (loading) {
     return (
@@ -234,7 +310,11 @@ function App() {
 
       <main style={{ maxWidth: '1280px', margin: '0 auto', padding: '24px 16px' }}>
         {currentView === 'dashboard' ? (
-          <Dashboard tasks={filteredTasks} darkMode={darkMode} />
+          <Dashboard
+            tasks={filteredTasks}
+            stats={dashboardStats}
+            darkMode={darkMode}
+          />
         ) : (
           <KanbanBoard
             tasks={filteredTasks}
@@ -253,7 +333,7 @@ function App() {
         <TaskModal
           task={editingTask}
           onSubmit={editingTask ? 
-            (data) => handleUpdateTask(editingTask.id, data) : 
+            (data) => handleUpdateTask(editingTask.id, { ...data, version: editingTask.version }) : 
             handleCreateTask
           }
           onClose={() => {
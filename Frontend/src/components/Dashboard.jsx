@@ -1,12 +1,24 @@
 import { PieChart, Pie, BarChart, Bar, LineChart, Line, XAxis, YAxis, CartesianGrid, Tooltip, Legend, ResponsiveContainer, Cell } from 'recharts';
 import { CheckCircle2, Clock, ListTodo, AlertCircle } from 'lucide-react';
 
-function Dashboard({ tasks, darkMode }) {
+// Count tasks by status and priority in a single pass (used when no server stats are available)
+const countTasks = (tasks) => {
+  const byStatus = { TODO: 0, IN_PROGRESS: 0, DONE: 0 };
+  const byPriority = { LOW: 0, MEDIUM: 0, HIGH: 0, URGENT: 0 };
+  tasks.forEach(t => {
+    byStatus[t.status]++;
+    byPriority[t.priority]++;
+  });
+  return { total: tasks.length, byStatus, byPriority };
+};
+
+function Dashboard({ tasks, stats, darkMode }) {
   // Calculate statistics
-  const totalTasks = tasks.length;
-  const todoTasks = tasks.filter(t => t.status === 'TODO').length;
-  const inProgressTasks = tasks.filter(t => t.status === 'IN_PROGRESS').length;
-  const doneTasks = tasks.filter(t => t.status === 'DONE').length;
+  const { total, byStatus, byPriority } = stats || countTasks(tasks);
+  const totalTasks = total;
+  const todoTasks = byStatus.TODO;
+  const inProgressTasks = byStatus.IN_PROGRESS;
+  const doneTasks = byStatus.DONE;
 
   // Status data for pie chart
   const statusData = [
@@ -17,10 +29,10 @@ function Dashboard({ tasks, darkMode }) {
 
   // Priority data for bar chart
   const priorityData = [
-    { name: 'Low', count: tasks.filter(t => t.priority === 'LOW').length },
-    { name: 'Medium', count: tasks.filter(t => t.priority === 'MEDIUM').length },
-    { name: 'High', count: tasks.filter(t => t.priority === 'HIGH').length },
-    { name: 'Urgent', count: tasks.filter(t => t.priority === 'URGENT').length }
+    { name: 'Low', count: byPriority.LOW },
+    { name: 'Medium', count: byPriority.MEDIUM },
+    { name: 'High', count: byPriority.HIGH },
+    { name: 'Urgent', count: byPriority.URGENT }
   ];
 
   // Stats cards data
@@ -9,6 +9,35 @@ const taskService = {
     return response.data;
   },
 
+  // Get task counts by status and priority
+  getStats: async () => {
+    const response = await axios.get(`${API_BASE_URL}/stats`);
+    return response.data;
+  },
+
+  // Changes since a feed cursor; without one it only returns the current cursor
+  getChanges: async (since) => {
+    const response = await axios.get(`${API_BASE_URL}/changes`, { params: { since } });
+    return response.data;
+  },
+
+  // Open the live change stream from a cursor; the browser resumes it on reconnect
+  subscribeToChanges: (since, onChange) => {
+    const source = new EventSource(`${API_BASE_URL}/changes/stream?since=${encodeURIComponent(since)}`);
+    source.addEventListener('change', (event) => onChange(JSON.parse(event.data)));
+    return source;
+  },
+
+  // Filtered and sorted list from the server, e.g. { status: ['TODO'], priority: 'HIGH', q, sort: 'createdAt,desc' }
+  queryTasks: async (params) => {
+    const response = await axios.get(API_BASE_URL, {
+      params,
+      // Repeat list parameters (status=A&status=B) instead of status[]=A
+      paramsSerializer: { indexes: null }
+    });
+    return response.data;
+  },
+
   // Get task by ID
   getTaskById: async (id) => {
     const response = await axios.get(`${API_BASE_URL}/${id}`);
@@ -32,6 +61,16 @@ const taskService = {
     await axios.delete(`${API_BASE_URL}/${id}`);
   },
 
+  // Partially update a task (status and/or priority) with a single request
+  patchTask: async (id, patch) => {
+    await axios.patch(`${API_BASE_URL}/${id}`, patch);
+  },
+
+  // Delete all completed tasks
+  deleteCompletedTasks: async () => {
+    await axios.delete(`${API_BASE_URL}/completed`);
+  },
+
   // Mark task as completed
   markAsCompleted: async (id) => {
     const response = await axios.patch(`${API_BASE_URL}/${id}/complete`);
@@ -62,10 +101,10 @@ const taskService = {
     return response.data;
   },
 
-  // Search tasks by title
-  searchTasks: async (title) => {
+  // Ranked search over title and description (filters are optional)
+  searchTasks: async (q, { status, priority, limit } = {}) => {
     const response = await axios.get(`${API_BASE_URL}/search`, {
-      params: { title }
+      params: { q, status, priority, limit }
     });
     return response.data;
   },